@@ -78,6 +78,18 @@ public interface AccountingCloseAnnualService {
   public List<Pair<Long, Long>> assignPartner(
       List<Long> accountIdList, Year year, boolean allocatePerPartner);
 
+  /**
+   * Compute with grouped queries the balances of the given accounts for the year, by partner for
+   * the accounts used for partner balance if allocated per partner. The balances of these accounts
+   * are then read from memory when generating the moves of the year instead of one query per
+   * account and partner.
+   *
+   * @param year the year to close
+   * @param accountIdList the accounts to close or open
+   * @param allocatePerPartner whether the balances are allocated per partner
+   */
+  void preloadBalances(Year year, List<Long> accountIdList, boolean allocatePerPartner);
+
   void generateResultMove(
       Company company,
       LocalDate date,
@@ -38,6 +38,7 @@ import com.axelor.apps.base.db.Partner;
 import com.axelor.apps.base.db.Year;
 import com.axelor.apps.base.service.BankDetailsService;
 import com.axelor.db.JPA;
+import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import com.google.inject.persist.Transactional;
 import java.lang.invoke.MethodHandles;
@@ -46,8 +47,11 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import javax.persistence.Query;
@@ -72,6 +76,12 @@ public class AccountingCloseAnnualServiceImpl implements AccountingCloseAnnualSe
   protected MoveSimulateService moveSimulateService;
   protected int counter = 0;
 
+  protected static final int ACCOUNT_ID_CHUNK_SIZE = 1000;
+  protected Long balanceYearId;
+  protected boolean balanceAllocatePerPartner;
+  protected Set<Long> balanceAccountIdSet = new HashSet<>();
+  protected Map<Pair<Long, Long>, BigDecimal> balanceMap = new HashMap<>();
+
   @Inject
   public AccountingCloseAnnualServiceImpl(
       MoveCreateService moveCreateService,
@@ -385,6 +395,16 @@ public class AccountingCloseAnnualServiceImpl implements AccountingCloseAnnualSe
   protected BigDecimal computeBalance(
       Year year, Account account, Partner partner, boolean allocatePerPartner) {
 
+    if (year.getId().equals(balanceYearId)
+        && allocatePerPartner == balanceAllocatePerPartner
+        && balanceAccountIdSet.contains(account.getId())) {
+      Long partnerId =
+          allocatePerPartner && account.getUseForPartnerBalance() && partner != null
+              ? partner.getId()
+              : null;
+      return balanceMap.getOrDefault(Pair.of(account.getId(), partnerId), BigDecimal.ZERO);
+    }
+
     String prepareQuery =
         "select SUM(self.debit - self.credit) FROM MoveLine as self "
             + "WHERE self.move.ignoreInAccountingOk = false AND self.move.period.year = ?1 AND self.account = ?2 "
@@ -471,10 +491,12 @@ public class AccountingCloseAnnualServiceImpl implements AccountingCloseAnnualSe
       List<Long> accountIdList, Year year, boolean allocatePerPartner) {
 
     List<Pair<Long, Long>> accountAndPartnerPair = new ArrayList<>();
+    Map<Long, List<Long>> partnerIdMap =
+        allocatePerPartner ? getPartnerIdMap(accountIdList, year) : Collections.emptyMap();
 
     for (Long accountId : accountIdList) {
       if (allocatePerPartner && accountRepository.find(accountId).getUseForPartnerBalance()) {
-        for (Long partnerId : getPartner(accountId, year)) {
+        for (Long partnerId : partnerIdMap.getOrDefault(accountId, Collections.emptyList())) {
           accountAndPartnerPair.add(Pair.of(accountId, partnerId));
         }
 
@@ -485,22 +507,73 @@ public class AccountingCloseAnnualServiceImpl implements AccountingCloseAnnualSe
     return accountAndPartnerPair;
   }
 
-  protected List<Long> getPartner(Long accountId, Year year) {
-
-    Query q =
-        JPA.em()
-            .createQuery(
-                "select distinct(self.partner.id) FROM MoveLine as self "
-                    + "WHERE self.move.ignoreInAccountingOk = false AND self.move.period.year = ?1 AND self.account.id = ?2 "
-                    + "AND self.move.statusSelect = ?3 AND self.move.autoYearClosureMove is not true",
-                Long.class);
-    q.setParameter(1, year);
-    q.setParameter(2, accountId);
-    q.setParameter(3, MoveRepository.STATUS_ACCOUNTED);
-
-    List<Long> result = q.getResultList();
+  /**
+   * Get the partners of the move lines of the year, for each account used for partner balance.
+   *
+   * @param accountIdList
+   * @param year
+   * @return the partner ids by account id
+   */
+  protected Map<Long, List<Long>> getPartnerIdMap(List<Long> accountIdList, Year year) {
+    Map<Long, List<Long>> partnerIdMap = new HashMap<>();
+
+    for (List<Long> accountIdChunk : Lists.partition(accountIdList, ACCOUNT_ID_CHUNK_SIZE)) {
+      List<Object[]> result =
+          JPA.em()
+              .createQuery(
+                  "select distinct self.account.id, self.partner.id FROM MoveLine as self "
+                      + "WHERE self.move.ignoreInAccountingOk = false "
+                      + "AND self.move.period.year = :year "
+                      + "AND self.account.id in (:accountIdList) "
+                      + "AND self.account.useForPartnerBalance = true "
+                      + "AND self.move.statusSelect = :statusSelect "
+                      + "AND self.move.autoYearClosureMove is not true",
+                  Object[].class)
+              .setParameter("year", year)
+              .setParameter("accountIdList", accountIdChunk)
+              .setParameter("statusSelect", MoveRepository.STATUS_ACCOUNTED)
+              .getResultList();
+
+      for (Object[] row : result) {
+        partnerIdMap.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]);
+      }
+    }
+    return partnerIdMap;
+  }
 
-    return result;
+  @Override
+  public void preloadBalances(Year year, List<Long> accountIdList, boolean allocatePerPartner) {
+    balanceYearId = year.getId();
+    balanceAllocatePerPartner = allocatePerPartner;
+    balanceAccountIdSet = new HashSet<>(accountIdList);
+    balanceMap = new HashMap<>();
+
+    for (List<Long> accountIdChunk : Lists.partition(accountIdList, ACCOUNT_ID_CHUNK_SIZE)) {
+      List<Object[]> result =
+          JPA.em()
+              .createQuery(
+                  "select self.account.id, self.account.useForPartnerBalance, self.partner.id, "
+                      + "SUM(self.debit - self.credit) FROM MoveLine as self "
+                      + "WHERE self.move.ignoreInAccountingOk = false "
+                      + "AND self.move.period.year = :year "
+                      + "AND self.account.id in (:accountIdList) "
+                      + "AND self.move.statusSelect = :statusSelect "
+                      + "AND self.move.autoYearClosureMove is not true "
+                      + "GROUP BY self.account.id, self.account.useForPartnerBalance, "
+                      + "self.partner.id",
+                  Object[].class)
+              .setParameter("year", year)
+              .setParameter("accountIdList", accountIdChunk)
+              .setParameter("statusSelect", MoveRepository.STATUS_ACCOUNTED)
+              .getResultList();
+
+      for (Object[] row : result) {
+        Long accountId = (Long) row[0];
+        Long partnerId = allocatePerPartner && Boolean.TRUE.equals(row[1]) ? (Long) row[2] : null;
+        BigDecimal balance = row[3] != null ? (BigDecimal) row[3] : BigDecimal.ZERO;
+        balanceMap.merge(Pair.of(accountId, partnerId), balance, BigDecimal::add);
+      }
+    }
   }
 
   @Override
@@ -57,8 +57,10 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import javax.persistence.PersistenceException;
@@ -226,6 +228,11 @@ public class BatchCloseAnnualAccounts extends BatchStrategy {
       List<Pair<Long, Long>> openingAccountAndPartnerPairList =
           accountingCloseAnnualService.assignPartner(
               openingAccountIdList, year, allocatePerPartner);
+
+      Set<Long> accountIdSet = new LinkedHashSet<>(closureAccountIdList);
+      accountIdSet.addAll(openingAccountIdList);
+      accountingCloseAnnualService.preloadBalances(
+          year, new ArrayList<>(accountIdSet), allocatePerPartner);
       LinkedHashMap<AccountByPartner, Map<Boolean, Boolean>> map = new LinkedHashMap<>();
       map =
           openAndCloseProcess(
@@ -259,9 +266,13 @@ public class BatchCloseAnnualAccounts extends BatchStrategy {
       boolean close,
       boolean open,
       LinkedHashMap<AccountByPartner, Map<Boolean, Boolean>> map) {
-    List<Long> idsDone = new ArrayList<>();
-    for (Account account : getSortedAccountList(accountAndPartnerPairList)) {
-      Partner partner = getPartner(accountAndPartnerPairList, account, idsDone);
+    for (Pair<Long, Long> accountAndPartnerPair :
+        getSortedAccountAndPartnerPairList(accountAndPartnerPairList)) {
+      Account account = accountRepository.find(accountAndPartnerPair.getLeft());
+      Partner partner =
+          accountAndPartnerPair.getRight() != null
+              ? partnerRepository.find(accountAndPartnerPair.getRight())
+              : null;
 
       Map<Boolean, Boolean> value = new HashMap<>();
       if (close) {
@@ -282,32 +293,22 @@ public class BatchCloseAnnualAccounts extends BatchStrategy {
     return map;
   }
 
-  protected List<Account> getSortedAccountList(List<Pair<Long, Long>> accountAndPartnerPairList) {
-    List<Account> sortedAccountList = new ArrayList<>();
+  /**
+   * Sort the account and partner pairs by account code, keeping the order of the partners of a same
+   * account.
+   */
+  protected List<Pair<Long, Long>> getSortedAccountAndPartnerPairList(
+      List<Pair<Long, Long>> accountAndPartnerPairList) {
+    Map<Long, String> accountCodeMap = new HashMap<>();
     for (Pair<Long, Long> accountAndPartnerPair : accountAndPartnerPairList) {
-      sortedAccountList.add(accountRepository.find(accountAndPartnerPair.getLeft()));
-    }
-    sortedAccountList.sort(Comparator.comparing(Account::getCode));
-    return sortedAccountList;
-  }
-
-  protected Partner getPartner(
-      List<Pair<Long, Long>> accountAndPartnerPairList, Account account, List<Long> idsDone) {
-    Partner partner =
-        accountAndPartnerPairList.stream()
-            .filter(
-                pair ->
-                    pair.getLeft().equals(account.getId()) && !idsDone.contains(pair.getRight()))
-            .findFirst()
-            .map(Pair::getRight)
-            .map(id -> partnerRepository.find(id))
-            .orElse(null);
-
-    if (partner != null) {
-      idsDone.add(partner.getId());
+      accountCodeMap.computeIfAbsent(
+          accountAndPartnerPair.getLeft(), id -> accountRepository.find(id).getCode());
     }
-
-    return partner;
+    List<Pair<Long, Long>> sortedAccountAndPartnerPairList =
+        new ArrayList<>(accountAndPartnerPairList);
+    sortedAccountAndPartnerPairList.sort(
+        Comparator.comparing(pair -> accountCodeMap.get(pair.getLeft())));
+    return sortedAccountAndPartnerPairList;
   }
 
   protected void generateMoves(Map<AccountByPartner, Map<Boolean, Boolean>> map) {
@@ -527,8 +528,7 @@ public class BatchCloseAnnualAccounts extends BatchStrategy {
     }
 
     public int hashCode() {
-      return (int)
-          (this.account.getId() * 1000 + (this.partner != null ? this.partner.getId() : 0));
+      return Objects.hash(this.account.getId(), this.partner != null ? this.partner.getId() : null);
     }
 
     public boolean equals(Object o) {
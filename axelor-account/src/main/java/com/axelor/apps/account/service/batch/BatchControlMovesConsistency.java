@@ -21,10 +21,10 @@ package com.axelor.apps.account.service.batch;
 import com.axelor.apps.account.db.AccountingBatch;
 import com.axelor.apps.account.db.Move;
 import com.axelor.apps.account.db.repo.MoveRepository;
-import com.axelor.apps.account.service.move.MoveToolService;
 import com.axelor.apps.account.service.move.MoveValidateService;
 import com.axelor.apps.base.AxelorException;
 import com.axelor.apps.base.db.TraceBack;
+import com.axelor.apps.base.db.Year;
 import com.axelor.apps.base.db.repo.TraceBackRepository;
 import com.axelor.apps.base.service.exception.TraceBackService;
 import com.axelor.db.JPA;
@@ -33,20 +33,17 @@ import com.google.inject.Inject;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.apache.commons.collections.CollectionUtils;
 
 public class BatchControlMovesConsistency extends BatchStrategy {
 
-  protected MoveToolService moveToolService;
   protected MoveValidateService moveValidateService;
   protected TraceBackRepository tracebackRepository;
 
   @Inject
   public BatchControlMovesConsistency(
-      MoveToolService moveToolService,
-      MoveValidateService moveValidateService,
-      TraceBackRepository tracebackRepository) {
-    this.moveToolService = moveToolService;
+      MoveValidateService moveValidateService, TraceBackRepository tracebackRepository) {
     this.moveValidateService = moveValidateService;
     this.tracebackRepository = tracebackRepository;
   }
@@ -54,33 +51,66 @@ public class BatchControlMovesConsistency extends BatchStrategy {
   protected void process() {
     AccountingBatch accountingBatch = batch.getAccountingBatch();
     if (!CollectionUtils.isEmpty(accountingBatch.getYearSet())) {
-      List<Move> moveList =
-          moveToolService.findMoveByYear(
-              accountingBatch.getYearSet(),
-              Arrays.asList(MoveRepository.STATUS_ACCOUNTED, MoveRepository.STATUS_DAYBOOK));
-      if (!CollectionUtils.isEmpty(moveList)) {
-        for (Move move : moveList) {
-          try {
-            move = moveRepo.find(move.getId());
-            moveValidateService.checkConsistencyPreconditions(move);
-            incrementDone();
-          } catch (AxelorException e) {
-            TraceBackService.trace(
-                new AxelorException(move, e.getCategory(), I18n.get(e.getMessage())),
-                null,
-                batch.getId());
-            incrementAnomaly();
-          } catch (Exception e) {
-            TraceBackService.trace(
-                new AxelorException(e, move, TraceBackRepository.CATEGORY_INCONSISTENCY),
-                null,
-                batch.getId());
-            incrementAnomaly();
-          } finally {
-            JPA.clear();
-          }
+      List<Long> yearIdList =
+          accountingBatch.getYearSet().stream().map(Year::getId).collect(Collectors.toList());
+      long startTime = System.currentTimeMillis();
+      long lastId = 0L;
+      List<Long> moveIdList;
+      while (!(moveIdList = fetchMoveIds(yearIdList, lastId)).isEmpty()) {
+        for (Long moveId : moveIdList) {
+          checkMoveConsistency(moveId);
         }
+        lastId = moveIdList.get(moveIdList.size() - 1);
       }
+      LOG.info(
+          "Consistency of {} moves checked in {} ms",
+          batch.getDone() + batch.getAnomaly(),
+          System.currentTimeMillis() - startTime);
+    }
+  }
+
+  /**
+   * Fetch the next page of accounted and daybook moves of the years, only their ids are loaded so
+   * that the whole ledger is never held in memory.
+   */
+  protected List<Long> fetchMoveIds(List<Long> yearIdList, long lastId) {
+    return JPA.em()
+        .createQuery(
+            "SELECT self.id FROM Move self "
+                + "WHERE self.period.year.id IN :years "
+                + "AND self.statusSelect IN :statusSelect "
+                + "AND self.id > :lastId "
+                + "ORDER BY self.id",
+            Long.class)
+        .setParameter("years", yearIdList)
+        .setParameter(
+            "statusSelect",
+            Arrays.asList(MoveRepository.STATUS_ACCOUNTED, MoveRepository.STATUS_DAYBOOK))
+        .setParameter("lastId", lastId)
+        .setMaxResults(getFetchLimit())
+        .getResultList();
+  }
+
+  protected void checkMoveConsistency(Long moveId) {
+    Move move = null;
+    try {
+      move = moveRepo.find(moveId);
+      moveValidateService.checkConsistencyPreconditions(move);
+      incrementDone();
+    } catch (AxelorException e) {
+      TraceBackService.trace(
+          new AxelorException(move, e.getCategory(), I18n.get(e.getMessage())),
+          null,
+          batch.getId());
+      incrementAnomaly();
+    } catch (Exception e) {
+      TraceBackService.trace(
+          new AxelorException(e, move, TraceBackRepository.CATEGORY_INCONSISTENCY),
+          null,
+          batch.getId());
+      incrementAnomaly();
+    } finally {
+      JPA.clear();
     }
   }
 
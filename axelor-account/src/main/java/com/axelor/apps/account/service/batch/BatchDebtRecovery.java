@@ -43,6 +43,7 @@ import com.axelor.message.db.repo.MessageRepository;
 import com.google.inject.Inject;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import javax.persistence.Table;
 import org.apache.commons.collections.CollectionUtils;
 
@@ -124,17 +125,23 @@ public class BatchDebtRecovery extends BatchStrategy {
                     + "AND self.id NOT IN ("
                     + Beans.get(BlockingService.class)
                         .listOfBlockedPartner(company, BlockingRepository.REMINDER_BLOCKING)
-                    + ")")
+                    + ") "
+                    + "AND self.id > :lastId")
             .bind("_company", company)
             .order("id");
 
-    int offset = 0;
+    Set<Long> partnerIdSet =
+        debtRecoveryService.getDebtRecoveryPartnerIdSet(company, tradingNameList);
+    long lastId = 0L;
     List<Partner> partnerList;
 
-    while (!(partnerList = query.fetch(getFetchLimit(), offset)).isEmpty()) {
+    while (!(partnerList = query.bind("lastId", lastId).fetch(getFetchLimit())).isEmpty()) {
 
       for (Partner partner : partnerList) {
-        ++offset;
+        lastId = partner.getId();
+        if (!partnerIdSet.contains(partner.getId())) {
+          continue;
+        }
 
         boolean remindedOk;
         // if recovery handled by trading name
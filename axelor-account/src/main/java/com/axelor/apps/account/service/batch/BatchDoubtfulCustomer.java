@@ -40,6 +40,7 @@ import java.lang.invoke.MethodHandles;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -104,10 +105,18 @@ public class BatchDoubtfulCustomer extends PreviewBatch {
     AccountConfig accountConfig = company.getAccountConfig();
     Account doubtfulCustomerAccount = accountConfig.getDoubtfulCustomerAccount();
 
-    for (Pair<Integer, Boolean> pair : doubtfulCustomerService.getPairList(accountConfig)) {
+    Map<Long, Pair<Integer, Boolean>> moveLineMap =
+        doubtfulCustomerService.getMoveLineMap(company, doubtfulCustomerAccount);
+
+    for (Pair<Integer, Boolean> pair :
+        doubtfulCustomerService.getPairList(accountConfig).stream()
+            .distinct()
+            .collect(Collectors.toList())) {
       List<Long> moveLineIds =
-          doubtfulCustomerService.getMoveLineIds(
-              company, doubtfulCustomerAccount, pair.getLeft(), pair.getRight());
+          moveLineMap.entrySet().stream()
+              .filter(entry -> pair.equals(entry.getValue()))
+              .map(Map.Entry::getKey)
+              .collect(Collectors.toList());
 
       String debtPassReason = this.getDebtPassReason(accountConfig, pair.getLeft());
 
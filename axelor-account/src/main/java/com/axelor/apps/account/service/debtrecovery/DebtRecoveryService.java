@@ -64,7 +64,9 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import javax.persistence.TypedQuery;
 import org.apache.commons.collections.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -314,6 +316,108 @@ public class DebtRecoveryService {
     return invoiceTermRepo.findByIds(idList.stream().distinct().collect(Collectors.toList()));
   }
 
+  /**
+   * Compute, in a few grouped queries, the ids of the partners of a company for which the debt
+   * recovery process may have something to do: partners with a positive balance due, partners
+   * whose debt recovery has not been reset yet and partners without accounting situation for the
+   * company. For any other partner, {@link #debtRecoveryGenerate} would leave the debt recovery
+   * unchanged.
+   *
+   * @param company The company for which to recover the debts
+   * @param tradingNameList (Optional) The trading names for which to recover the debts
+   * @return the ids of the partners to process
+   */
+  public Set<Long> getDebtRecoveryPartnerIdSet(Company company, List<TradingName> tradingNameList) {
+    Set<Long> partnerIdSet = new HashSet<>();
+    partnerIdSet.addAll(getBalanceDuePartnerIdList(company, tradingNameList));
+    partnerIdSet.addAll(getDebtRecoveryToResetPartnerIdList(company));
+    partnerIdSet.addAll(getPartnerWithoutAccountingSituationIdList(company));
+    return partnerIdSet;
+  }
+
+  /**
+   * Same computation as {@link AccountCustomerService#getBalanceDue}, grouped by partner and
+   * trading name over all the invoice terms of the company.
+   */
+  protected List<Long> getBalanceDuePartnerIdList(
+      Company company, List<TradingName> tradingNameList) {
+    boolean byTradingName = CollectionUtils.isNotEmpty(tradingNameList);
+    String balanceDue =
+        "SUM(CASE WHEN moveLine.debit > 0 THEN invoiceTerm.amountRemaining "
+            + "ELSE -invoiceTerm.amountRemaining END)";
+
+    TypedQuery<Long> query =
+        JPA.em()
+            .createQuery(
+                "SELECT DISTINCT partner.id FROM InvoiceTerm invoiceTerm "
+                    + "JOIN invoiceTerm.moveLine moveLine "
+                    + "JOIN moveLine.partner partner "
+                    + "JOIN moveLine.account account "
+                    + "JOIN moveLine.move move "
+                    + "WHERE invoiceTerm.dueDate <= :todayDate "
+                    + "AND move.company = :company "
+                    + (byTradingName ? "AND move.tradingName IN (:tradingNameList) " : "")
+                    + "AND move.ignoreInAccountingOk = false "
+                    + "AND account.useForPartnerBalance = true "
+                    + "AND move.statusSelect IN (:accountedStatus, :daybookStatus) "
+                    + "AND moveLine.amountRemaining != 0 "
+                    + "GROUP BY partner.id"
+                    + (byTradingName ? ", move.tradingName.id " : " ")
+                    + "HAVING "
+                    + balanceDue
+                    + " > 0",
+                Long.class)
+            .setParameter("todayDate", appAccountService.getTodayDate(company))
+            .setParameter("company", company)
+            .setParameter("accountedStatus", MoveRepository.STATUS_ACCOUNTED)
+            .setParameter("daybookStatus", MoveRepository.STATUS_DAYBOOK);
+
+    if (byTradingName) {
+      query.setParameter("tradingNameList", tradingNameList);
+    }
+    return query.getResultList();
+  }
+
+  /** Partners having a debt recovery for the company which is not in its initial state. */
+  protected List<Long> getDebtRecoveryToResetPartnerIdList(Company company) {
+    return JPA.em()
+        .createQuery(
+            "SELECT DISTINCT accountingSituation.partner.id "
+                + "FROM DebtRecovery debtRecovery, AccountingSituation accountingSituation "
+                + "WHERE (debtRecovery.accountingSituation = accountingSituation "
+                + "OR debtRecovery.tradingNameAccountingSituation = accountingSituation) "
+                + "AND accountingSituation.company = :company "
+                + "AND (debtRecovery.debtRecoveryMethodLine IS NOT NULL "
+                + "OR debtRecovery.waitDebtRecoveryMethodLine IS NOT NULL "
+                + "OR debtRecovery.balanceDue != 0 "
+                + "OR debtRecovery.balanceDueDebtRecovery != 0 "
+                + "OR debtRecovery.invoiceDebtRecoverySet IS NOT EMPTY "
+                + "OR debtRecovery.paymentScheduleLineDebtRecoverySet IS NOT EMPTY)",
+            Long.class)
+        .setParameter("company", company)
+        .getResultList();
+  }
+
+  /**
+   * Customers of the company without accounting situation for it, so that the missing
+   * configuration is still reported by {@link #debtRecoveryGenerate}.
+   */
+  protected List<Long> getPartnerWithoutAccountingSituationIdList(Company company) {
+    return JPA.em()
+        .createQuery(
+            "SELECT self.id FROM Partner self "
+                + "WHERE self.isContact = false "
+                + "AND self.isCustomer = true "
+                + "AND :company MEMBER OF self.companySet "
+                + "AND NOT EXISTS (SELECT accountingSituation.id "
+                + "FROM AccountingSituation accountingSituation "
+                + "WHERE accountingSituation.partner = self "
+                + "AND accountingSituation.company = :company)",
+            Long.class)
+        .setParameter("company", company)
+        .getResultList();
+  }
+
   public DebtRecovery getDebtRecovery(Partner partner, Company company) throws AxelorException {
 
     AccountingSituationRepository accSituationRepo = Beans.get(AccountingSituationRepository.class);
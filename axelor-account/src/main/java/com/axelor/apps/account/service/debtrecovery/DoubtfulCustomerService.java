@@ -43,6 +43,7 @@ import com.axelor.apps.base.AxelorException;
 import com.axelor.apps.base.db.Company;
 import com.axelor.apps.base.db.Partner;
 import com.axelor.apps.base.service.app.AppBaseService;
+import com.axelor.db.Query;
 import com.axelor.inject.Beans;
 import com.axelor.meta.CallMethod;
 import com.google.inject.Inject;
@@ -54,6 +55,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -443,6 +445,16 @@ public class DoubtfulCustomerService {
 
   public List<Long> getMoveLineIds(
       Company company, Account doubtfulCustomerAccount, int debtMonthNumber, boolean isReject) {
+    return this.getMoveLineQuery(company, doubtfulCustomerAccount, debtMonthNumber, isReject)
+        .select("id")
+        .fetch(0, 0)
+        .stream()
+        .map(m -> (Long) m.get("id"))
+        .collect(Collectors.toList());
+  }
+
+  protected Query<MoveLine> getMoveLineQuery(
+      Company company, Account doubtfulCustomerAccount, int debtMonthNumber, boolean isReject) {
     LocalDate date = appBaseService.getTodayDate(company).minusMonths(debtMonthNumber);
 
     StringBuilder query =
@@ -469,26 +481,65 @@ public class DoubtfulCustomerService {
         .bind("doubtfulCustomerAccount", doubtfulCustomerAccount)
         .bind("functionalOriginSale", MoveRepository.FUNCTIONAL_ORIGIN_SALE)
         .bind("operationTypeSale", InvoiceRepository.OPERATION_TYPE_CLIENT_SALE)
-        .fetch()
-        .stream()
-        .map(MoveLine::getId)
-        .collect(Collectors.toList());
+        .order("id");
   }
 
+  /**
+   * Find in one query per kind of move line (rejected or not) the move lines to pass to the
+   * doubtful customer account. Each move line gets the first pair of {@link
+   * #getPairList(AccountConfig)} it matches, as when processing the pairs one after the other.
+   *
+   * @return the debt month number and reject flag of each move line, by move line id
+   */
   public Map<Long, Pair<Integer, Boolean>> getMoveLineMap(
       Company company, Account doubtfulCustomerAccount) {
-    Map<Long, Pair<Integer, Boolean>> moveLineMap = new HashMap<>();
+    AccountConfig accountConfig = company.getAccountConfig();
+    List<Pair<Integer, Boolean>> pairList = this.getPairList(accountConfig);
+    int minDebtMonthNumber =
+        Math.min(
+            accountConfig.getSixMonthDebtMonthNumber(),
+            accountConfig.getThreeMonthDebtMontsNumber());
+    LocalDate todayDate = appBaseService.getTodayDate(company);
+
+    Map<Boolean, Map<Long, LocalDate>> dueDateMapByReject = new HashMap<>();
+    for (boolean isReject : new boolean[] {false, true}) {
+      dueDateMapByReject.put(
+          isReject,
+          this.getMoveLineDueDateMap(
+              company, doubtfulCustomerAccount, minDebtMonthNumber, isReject));
+    }
 
-    for (Pair<Integer, Boolean> pair : this.getPairList(company.getAccountConfig())) {
-      for (long id :
-          this.getMoveLineIds(company, doubtfulCustomerAccount, pair.getLeft(), pair.getRight())) {
-        moveLineMap.put(id, pair);
+    Map<Long, Pair<Integer, Boolean>> moveLineMap = new LinkedHashMap<>();
+    for (Pair<Integer, Boolean> pair : pairList) {
+      LocalDate date = todayDate.minusMonths(pair.getLeft());
+      for (Map.Entry<Long, LocalDate> entry : dueDateMapByReject.get(pair.getRight()).entrySet()) {
+        if (entry.getValue().isBefore(date)) {
+          moveLineMap.putIfAbsent(entry.getKey(), pair);
+        }
       }
     }
 
     return moveLineMap;
   }
 
+  /**
+   * Fetch the due date of the move lines to pass to the doubtful customer account for the given
+   * debt month number and reject flag.
+   *
+   * @return the due date of each move line, by move line id in ascending order
+   */
+  protected Map<Long, LocalDate> getMoveLineDueDateMap(
+      Company company, Account doubtfulCustomerAccount, int debtMonthNumber, boolean isReject) {
+    Map<Long, LocalDate> dueDateMap = new LinkedHashMap<>();
+    for (Map moveLine :
+        this.getMoveLineQuery(company, doubtfulCustomerAccount, debtMonthNumber, isReject)
+            .select("id", "dueDate")
+            .fetch(0, 0)) {
+      dueDateMap.put((Long) moveLine.get("id"), (LocalDate) moveLine.get("dueDate"));
+    }
+    return dueDateMap;
+  }
+
   public List<Pair<Integer, Boolean>> getPairList(AccountConfig accountConfig) {
     int sixMonthDebtMonthNumber = accountConfig.getSixMonthDebtMonthNumber();
     int threeMonthDebtMonthNumber = accountConfig.getThreeMonthDebtMontsNumber();
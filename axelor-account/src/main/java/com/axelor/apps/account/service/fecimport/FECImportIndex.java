@@ -0,0 +1,82 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.account.service.fecimport;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reference data resolved during a FEC import, shared by every row of the same import through the
+ * import context. Only ids are kept so that the index survives the clear of the persistence
+ * context.
+ */
+public class FECImportIndex {
+
+  public static final String CONTEXT_KEY = "FECImportIndex";
+
+  protected final Map<String, Long> moveIdMap = new HashMap<>();
+  protected final Map<String, Integer> moveLineCounterMap = new HashMap<>();
+  protected final Map<String, Long> journalIdMap = new HashMap<>();
+  protected final Map<String, Long> accountIdMap = new HashMap<>();
+  protected final Map<String, Long> periodIdMap = new HashMap<>();
+
+  public Long getMoveId(String reference) {
+    return moveIdMap.get(reference);
+  }
+
+  public void putMoveId(String reference, Long moveId) {
+    moveIdMap.put(reference, moveId);
+  }
+
+  public Integer getMoveLineCounter(String reference) {
+    return moveLineCounterMap.get(reference);
+  }
+
+  public void putMoveLineCounter(String reference, int counter) {
+    moveLineCounterMap.put(reference, counter);
+  }
+
+  public Long getJournalId(Long companyId, String code) {
+    return journalIdMap.get(getKey(companyId, code));
+  }
+
+  public void putJournalId(Long companyId, String code, Long journalId) {
+    journalIdMap.put(getKey(companyId, code), journalId);
+  }
+
+  public Long getAccountId(Long companyId, String code) {
+    return accountIdMap.get(getKey(companyId, code));
+  }
+
+  public void putAccountId(Long companyId, String code, Long accountId) {
+    accountIdMap.put(getKey(companyId, code), accountId);
+  }
+
+  public Long getPeriodId(Long companyId, String date) {
+    return periodIdMap.get(getKey(companyId, date));
+  }
+
+  public void putPeriodId(Long companyId, String date, Long periodId) {
+    periodIdMap.put(getKey(companyId, date), periodId);
+  }
+
+  protected String getKey(Long companyId, String code) {
+    return companyId + "|" + code;
+  }
+}
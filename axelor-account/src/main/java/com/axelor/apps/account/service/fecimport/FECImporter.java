@@ -35,6 +35,7 @@ import com.axelor.apps.base.db.repo.TraceBackRepository;
 import com.axelor.apps.base.service.exception.TraceBackService;
 import com.axelor.apps.base.service.imports.importer.Importer;
 import com.axelor.apps.base.service.imports.listener.ImporterListener;
+import com.axelor.auth.AuthUtils;
 import com.axelor.data.csv.CSVImporter;
 import com.axelor.db.JPA;
 import com.axelor.db.Model;
@@ -43,14 +44,19 @@ import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import com.google.inject.persist.Transactional;
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class FECImporter extends Importer {
 
+  protected static final int MOVE_UPDATE_CHUNK_SIZE = 1000;
+
   protected MoveValidateService moveValidateService;
   protected AppAccountService appAccountService;
   protected MoveRepository moveRepository;
@@ -58,6 +64,7 @@ public class FECImporter extends Importer {
   protected CompanyRepository companyRepository;
   protected MoveLineTaxService moveLineTaxService;
   private final List<Move> moveList = new ArrayList<>();
+  private final Set<Long> moveIdSet = new HashSet<>();
   private FECImport fecImport;
   private Company company;
 
@@ -121,6 +128,7 @@ public class FECImporter extends Importer {
       importContext = new HashMap<>();
     }
     importContext.put("FECImport", fecImport);
+    importContext.put(FECImportIndex.CONTEXT_KEY, new FECImportIndex());
     importer.setContext(importContext);
     importer.run();
     saveFecImport();
@@ -141,7 +149,7 @@ public class FECImporter extends Importer {
       MoveLine moveLine = (MoveLine) bean;
       if (moveLine.getMove() != null) {
         Move move = moveLine.getMove();
-        if (!moveList.contains(move)) {
+        if (move.getId() == null ? !moveList.contains(move) : moveIdSet.add(move.getId())) {
           moveList.add(move);
         }
       }
@@ -165,6 +173,11 @@ public class FECImporter extends Importer {
   protected void completeAndvalidateMoves(
       FECImport fecImport, List<Move> moveList, ImporterListener listener) {
     if (fecImport != null) {
+      // We modify move in two parts. First part we set description and fecImport on the moves
+      // Second part we set reference and validate the move if necessary.
+      // We do this in two parts because reference for move must be unique, and in case there is
+      // an error the rollback must not undo description and fecImport.
+      setDescriptionAndFecImport(fecImport, listener, moveList);
       int i = 0;
       Long companyId = null;
       for (Move move : moveList) {
@@ -172,11 +185,6 @@ public class FECImporter extends Importer {
         if (companyId == null && move != null) {
           companyId = move.getCompany().getId();
         }
-        // We modify move in two parts. First part we set description and fecImport on the move
-        // Second part we set reference and validate the move if necessary.
-        // We do this in two parts because reference for move must be unique, and in case there is
-        // an error the rollback must not undo description and fecImport.
-        move = setDescriptionAndFecImport(fecImport, listener, move);
         move = setVatSystemSelect(listener, move);
         move = setReferenceAndValidate(fecImport, listener, move);
         if (i % 10 == 0) {
@@ -267,22 +275,56 @@ public class FECImporter extends Importer {
     return null;
   }
 
-  @Transactional
-  protected Move setDescriptionAndFecImport(
-      FECImport fecImport, ImporterListener listener, Move move) {
-    try {
-      if (move != null) {
-        fecImport = fecImportRepository.find(fecImport.getId());
-        move.setDescription(fecImport.getMoveDescription());
-        move.setFecImport(fecImport);
-        return moveRepository.save(move);
+  /**
+   * Set the description and the FEC import on the given moves with bulk updates, by chunks of
+   * {@link #MOVE_UPDATE_CHUNK_SIZE} moves. A chunk failing is retried move by move so that only
+   * the failing moves are reported to the listener.
+   *
+   * @param fecImport the current import
+   * @param listener the listener the failures are reported to
+   * @param moveList the imported moves
+   */
+  protected void setDescriptionAndFecImport(
+      FECImport fecImport, ImporterListener listener, List<Move> moveList) {
+    List<Move> savedMoveList =
+        moveList.stream().filter(move -> move.getId() != null).collect(Collectors.toList());
+    for (List<Move> moveChunk : Lists.partition(savedMoveList, MOVE_UPDATE_CHUNK_SIZE)) {
+      try {
+        updateDescriptionAndFecImport(
+            fecImport, moveChunk.stream().map(Move::getId).collect(Collectors.toList()));
+      } catch (Exception e) {
+        for (Move move : moveChunk) {
+          try {
+            updateDescriptionAndFecImport(fecImport, List.of(move.getId()));
+          } catch (Exception moveException) {
+            listener.handle(move, moveException);
+          }
+        }
       }
-
-    } catch (Exception e) {
-      move.setStatusSelect(MoveRepository.STATUS_NEW);
-      listener.handle(move, e);
     }
-    return null;
+    // bulk updates bypass the persistence context, loaded moves are stale
+    JPA.clear();
+  }
+
+  /**
+   * Bulk update of the given moves. As it bypasses the entity listeners, the version and the audit
+   * fields are updated by the query itself.
+   */
+  @Transactional
+  protected void updateDescriptionAndFecImport(FECImport fecImport, List<Long> moveIdList) {
+    fecImport = fecImportRepository.find(fecImport.getId());
+    JPA.em()
+        .createQuery(
+            "UPDATE Move self SET self.description = :description, self.fecImport = :fecImport, "
+                + "self.version = self.version + 1, self.updatedOn = :updatedOn, "
+                + "self.updatedBy = :updatedBy "
+                + "WHERE self.id IN :moveIds")
+        .setParameter("description", fecImport.getMoveDescription())
+        .setParameter("fecImport", fecImport)
+        .setParameter("updatedOn", LocalDateTime.now())
+        .setParameter("updatedBy", AuthUtils.getUser())
+        .setParameter("moveIds", moveIdList)
+        .executeUpdate();
   }
 
   protected String extractCSVMoveReference(String reference) {
@@ -45,18 +45,20 @@ public class BatchValidation extends BatchWkf {
   @Override
   protected void process() {
 
-    for (Invoice invoice : invoices(batch.getInvoiceBatch(), true)) {
+    for (Long invoiceId : invoiceIds(batch.getInvoiceBatch(), true)) {
+
+      Invoice invoice = invoiceRepo.find(invoiceId);
+      String invoiceReference = invoice.getInvoiceId();
 
       try {
 
-        invoiceService.validate(invoiceRepo.find(invoice.getId()));
-        updateInvoice(invoiceRepo.find(invoice.getId()));
+        invoiceService.validate(invoice);
+        updateInvoice(invoiceRepo.find(invoiceId));
 
       } catch (AxelorException e) {
 
         TraceBackService.trace(
-            new AxelorException(
-                e, e.getCategory(), I18n.get("Invoice") + " %s", invoice.getInvoiceId()),
+            new AxelorException(e, e.getCategory(), I18n.get("Invoice") + " %s", invoiceReference),
             ExceptionOriginRepository.INVOICE_ORIGIN,
             batch.getId());
         incrementAnomaly();
@@ -64,7 +66,7 @@ public class BatchValidation extends BatchWkf {
       } catch (Exception e) {
 
         TraceBackService.trace(
-            new Exception(String.format(I18n.get("Invoice") + " %s", invoice.getInvoiceId()), e),
+            new Exception(String.format(I18n.get("Invoice") + " %s", invoiceReference), e),
             ExceptionOriginRepository.INVOICE_ORIGIN,
             batch.getId());
         incrementAnomaly();
@@ -22,11 +22,12 @@ import com.axelor.apps.account.db.Invoice;
 import com.axelor.apps.account.db.InvoiceBatch;
 import com.axelor.apps.account.db.repo.InvoiceRepository;
 import com.axelor.apps.account.service.invoice.InvoiceService;
+import com.axelor.db.JPA;
 import com.axelor.inject.Beans;
 import java.lang.invoke.MethodHandles;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
+import javax.persistence.TypedQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,18 +41,51 @@ public abstract class BatchWkf extends BatchStrategy {
   }
 
   /**
-   * Récupérer la liste des factures à traiter.
+   * Récupérer les identifiants des factures à traiter, triés par société, journal, date de facture
+   * puis identifiant afin que les numéros soient attribués dans l'ordre chronologique de chaque
+   * journal. Les factures brouillon, sans date, sont traitées dans leur ordre de création.
    *
    * @param invoiceBatch Le batch de facturation concerné.
-   * @return Une liste de facture.
+   * @return Une liste d'identifiants de facture.
    */
-  protected static Collection<? extends Invoice> invoices(InvoiceBatch invoiceBatch, boolean isTo) {
+  protected static List<Long> invoiceIds(InvoiceBatch invoiceBatch, boolean isTo) {
+
+    if (invoiceBatch == null) {
+      return new ArrayList<>();
+    }
+
+    // Draft invoices have no date yet: the id, given in creation order, keeps their order stable.
+    String order = " ORDER BY invoice.company.id, journal.id, invoice.invoiceDate, invoice.id";
+    TypedQuery<Long> query;
 
     if (invoiceBatch.getOnSelectOk()) {
-      return invoiceBatch.getInvoiceSet();
+      query =
+          JPA.em()
+              .createQuery(
+                  "SELECT invoice.id FROM InvoiceBatch invoiceBatch "
+                      + "JOIN invoiceBatch.invoiceSet invoice "
+                      + "LEFT JOIN invoice.journal journal "
+                      + "WHERE invoiceBatch = :invoiceBatch"
+                      + order,
+                  Long.class)
+              .setParameter("invoiceBatch", invoiceBatch);
     } else {
-      return invoiceQuery(invoiceBatch, isTo);
+      query =
+          JPA.em()
+              .createQuery(
+                  "SELECT invoice.id FROM Invoice invoice "
+                      + "LEFT JOIN invoice.journal journal "
+                      + "WHERE invoice.company = :company "
+                      + "AND invoice.statusSelect = :statusSelect"
+                      + order,
+                  Long.class)
+              .setParameter("company", invoiceBatch.getCompany())
+              .setParameter(
+                  "statusSelect",
+                  isTo ? invoiceBatch.getToStatusSelect() : invoiceBatch.getFromStatusSelect());
     }
+
+    return query.getResultList();
   }
 
   public static List<? extends Invoice> invoiceQuery(InvoiceBatch invoiceBatch, boolean isTo) {
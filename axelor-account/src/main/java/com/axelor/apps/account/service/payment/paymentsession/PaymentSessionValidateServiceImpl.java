@@ -165,24 +165,24 @@ public class PaymentSessionValidateServiceImpl implements PaymentSessionValidate
 
   @Override
   public int checkValidTerms(PaymentSession paymentSession) {
-    LocalDate nextSessionDate;
-    int offset = 0;
+    LocalDate nextSessionDate = this.fetchNextSessionDate(paymentSession);
+    long lastId = 0L;
     List<InvoiceTerm> invoiceTermList;
     Query<InvoiceTerm> invoiceTermQuery =
         invoiceTermRepo
             .all()
             .filter(
                 "self.paymentSession = :paymentSession "
-                    + "AND self.isSelectedOnPaymentSession IS TRUE")
+                    + "AND self.isSelectedOnPaymentSession IS TRUE "
+                    + "AND self.id > :lastId")
             .bind("paymentSession", paymentSession)
             .order("id");
 
-    while (!(invoiceTermList = invoiceTermQuery.fetch(AbstractBatch.FETCH_LIMIT, offset))
+    while (!(invoiceTermList =
+            invoiceTermQuery.bind("lastId", lastId).fetch(AbstractBatch.FETCH_LIMIT))
         .isEmpty()) {
-      nextSessionDate = this.fetchNextSessionDate(paymentSession);
-
       for (InvoiceTerm invoiceTerm : invoiceTermList) {
-        offset++;
+        lastId = invoiceTerm.getId();
 
         if (nextSessionDate != null
             && invoiceTerm.getFinancialDiscount() != null
@@ -275,26 +275,28 @@ public class PaymentSessionValidateServiceImpl implements PaymentSessionValidate
       boolean isGlobal)
       throws AxelorException {
     counter = 0;
-    int offset = 0;
+    long lastId = 0L;
     List<InvoiceTerm> invoiceTermList;
     Query<InvoiceTerm> invoiceTermQuery =
         invoiceTermRepo
             .all()
-            .filter("self.paymentSession = :paymentSession AND self.paymentAmount > 0")
+            .filter(
+                "self.paymentSession = :paymentSession AND self.paymentAmount > 0 "
+                    + "AND self.id > :lastId")
             .bind("paymentSession", paymentSession)
             .order("id");
 
-    while (!(invoiceTermList = invoiceTermQuery.fetch(AbstractBatch.FETCH_LIMIT, offset))
+    while (!(invoiceTermList =
+            invoiceTermQuery.bind("lastId", lastId).fetch(AbstractBatch.FETCH_LIMIT))
         .isEmpty()) {
       paymentSession = paymentSessionRepo.find(paymentSession.getId());
 
       for (InvoiceTerm invoiceTerm : invoiceTermList) {
+        lastId = invoiceTerm.getId();
         if (paymentSession.getStatusSelect() == PaymentSessionRepository.STATUS_AWAITING_PAYMENT
             || this.shouldBeProcessed(invoiceTerm)) {
 
           if (invoiceTerm.getPaymentAmount().compareTo(BigDecimal.ZERO) > 0) {
-            offset++;
-
             this.processInvoiceTerm(
                 paymentSession,
                 invoiceTerm,
@@ -30,6 +30,7 @@ import com.axelor.apps.account.db.repo.MoveLineRepository;
 import com.axelor.apps.account.db.repo.MoveRepository;
 import com.axelor.apps.account.exception.AccountExceptionMessage;
 import com.axelor.apps.account.service.app.AppAccountService;
+import com.axelor.apps.account.service.fecimport.FECImportIndex;
 import com.axelor.apps.account.service.move.MoveValidateService;
 import com.axelor.apps.account.service.moveline.MoveLineToolService;
 import com.axelor.apps.base.AxelorException;
@@ -45,6 +46,7 @@ import com.axelor.apps.base.service.exception.TraceBackService;
 import com.axelor.auth.AuthUtils;
 import com.axelor.auth.db.User;
 import com.axelor.common.StringUtils;
+import com.axelor.db.JPA;
 import com.axelor.i18n.I18n;
 import com.axelor.inject.Beans;
 import com.google.inject.Inject;
@@ -101,26 +103,17 @@ public class ImportMove {
                 .format(DateTimeFormatter.ofPattern("yyyyMMddHH:mm:ss"));
       }
       String importReference = String.format("#%s-%s", csvReference, lastImportDate);
+      FECImportIndex importIndex = getImportIndex(values);
 
-      MoveLine mvLine =
-          moveLineRepo
-              .all()
-              .filter("self.name LIKE '" + importReference + "-%'")
-              .order("-counter")
-              .fetchOne();
-      if (mvLine != null) {
-        int counter = mvLine.getCounter() + 1;
-        moveLine.setCounter(counter);
-      }
+      moveLine.setCounter(getNextMoveLineCounter(importIndex, importReference));
 
       if (values.get("EcritureDate") != null) {
         moveLine.setDate(parseDate(values.get("EcritureDate").toString()));
       }
 
-      Period period =
-          periodService.getPeriod(moveLine.getDate(), company, YearRepository.TYPE_FISCAL);
+      Period period = getPeriod(importIndex, moveLine.getDate(), company);
 
-      Move move = moveRepository.all().filter("self.reference = ?", importReference).fetchOne();
+      Move move = findMove(importIndex, importReference);
       if (move == null) {
         move = new Move();
         move.setFecImport(fecImport);
@@ -158,13 +151,7 @@ public class ImportMove {
         Journal journal = null;
         if (values.get("JournalCode") != null) {
           journal =
-              Beans.get(JournalRepository.class)
-                  .all()
-                  .filter(
-                      "self.code = ?1 AND self.company.id = ?2",
-                      values.get("JournalCode").toString(),
-                      move.getCompany().getId())
-                  .fetchOne();
+              findJournal(importIndex, values.get("JournalCode").toString(), move.getCompany());
           if (journal == null) {
             throw new AxelorException(
                 fecImport,
@@ -192,16 +179,11 @@ public class ImportMove {
         }
 
         moveRepository.save(move);
+        importIndex.putMoveId(importReference, move.getId());
       }
       if (values.get("CompteNum") != null) {
         Account account =
-            Beans.get(AccountRepository.class)
-                .all()
-                .filter(
-                    "self.code = ?1 AND self.company.id = ?2",
-                    values.get("CompteNum").toString(),
-                    move.getCompany().getId())
-                .fetchOne();
+            findAccount(importIndex, values.get("CompteNum").toString(), move.getCompany());
         if (account == null) {
           throw new AxelorException(
               fecImport,
@@ -244,6 +226,96 @@ public class ImportMove {
     return moveLine;
   }
 
+  /**
+   * Return the index shared by the rows of the current import, or a new one if the import was not
+   * launched by the FEC importer.
+   */
+  protected FECImportIndex getImportIndex(Map<String, Object> values) {
+    Object importIndex = values.get(FECImportIndex.CONTEXT_KEY);
+    if (importIndex instanceof FECImportIndex) {
+      return (FECImportIndex) importIndex;
+    }
+    return new FECImportIndex();
+  }
+
+  protected int getNextMoveLineCounter(FECImportIndex importIndex, String importReference) {
+    Integer counter = importIndex.getMoveLineCounter(importReference);
+    if (counter == null) {
+      MoveLine mvLine =
+          moveLineRepo
+              .all()
+              .filter("self.name LIKE :name")
+              .bind("name", importReference + "-%")
+              .order("-counter")
+              .fetchOne();
+      counter = mvLine != null ? mvLine.getCounter() : 0;
+    }
+    counter++;
+    importIndex.putMoveLineCounter(importReference, counter);
+    return counter;
+  }
+
+  protected Move findMove(FECImportIndex importIndex, String importReference) {
+    Long moveId = importIndex.getMoveId(importReference);
+    Move move = moveId != null ? moveRepository.find(moveId) : null;
+    if (move == null) {
+      move = moveRepository.all().filter("self.reference = ?", importReference).fetchOne();
+      if (move != null) {
+        importIndex.putMoveId(importReference, move.getId());
+      }
+    }
+    return move;
+  }
+
+  protected Period getPeriod(FECImportIndex importIndex, LocalDate date, Company company) {
+    if (date == null || company == null) {
+      return periodService.getPeriod(date, company, YearRepository.TYPE_FISCAL);
+    }
+    Long periodId = importIndex.getPeriodId(company.getId(), date.toString());
+    Period period = periodId != null ? JPA.find(Period.class, periodId) : null;
+    if (period == null) {
+      period = periodService.getPeriod(date, company, YearRepository.TYPE_FISCAL);
+      if (period != null) {
+        importIndex.putPeriodId(company.getId(), date.toString(), period.getId());
+      }
+    }
+    return period;
+  }
+
+  protected Journal findJournal(FECImportIndex importIndex, String code, Company company) {
+    JournalRepository journalRepository = Beans.get(JournalRepository.class);
+    Long journalId = importIndex.getJournalId(company.getId(), code);
+    Journal journal = journalId != null ? journalRepository.find(journalId) : null;
+    if (journal == null) {
+      journal =
+          journalRepository
+              .all()
+              .filter("self.code = ?1 AND self.company.id = ?2", code, company.getId())
+              .fetchOne();
+      if (journal != null) {
+        importIndex.putJournalId(company.getId(), code, journal.getId());
+      }
+    }
+    return journal;
+  }
+
+  protected Account findAccount(FECImportIndex importIndex, String code, Company company) {
+    AccountRepository accountRepository = Beans.get(AccountRepository.class);
+    Long accountId = importIndex.getAccountId(company.getId(), code);
+    Account account = accountId != null ? accountRepository.find(accountId) : null;
+    if (account == null) {
+      account =
+          accountRepository
+              .all()
+              .filter("self.code = ?1 AND self.company.id = ?2", code, company.getId())
+              .fetchOne();
+      if (account != null) {
+        importIndex.putAccountId(company.getId(), code, account.getId());
+      }
+    }
+    return account;
+  }
+
   protected void setMovePartner(Move move, MoveLine moveLine) {
     List<Partner> partnerList =
         move.getMoveLineList().stream()
@@ -0,0 +1,111 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.account.service.debtrecovery;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.axelor.apps.account.db.Account;
+import com.axelor.apps.account.db.AccountConfig;
+import com.axelor.apps.base.db.Company;
+import com.axelor.apps.base.service.app.AppBaseService;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class TestDoubtfulCustomerService {
+
+  private static final LocalDate TODAY = LocalDate.of(2024, 7, 15);
+  private static final LocalDate SEVEN_MONTHS_AGO = LocalDate.of(2023, 12, 1);
+  private static final LocalDate FOUR_MONTHS_AGO = LocalDate.of(2024, 3, 1);
+
+  private static Map<Long, Pair<Integer, Boolean>> moveLineMap;
+
+  @BeforeAll
+  static void prepare() {
+    AccountConfig accountConfig = new AccountConfig();
+    accountConfig.setSixMonthDebtMonthNumber(6);
+    accountConfig.setThreeMonthDebtMontsNumber(3);
+    Company company = new Company();
+    company.setAccountConfig(accountConfig);
+
+    AppBaseService appBaseService = mock(AppBaseService.class);
+    when(appBaseService.getTodayDate(company)).thenReturn(TODAY);
+
+    Map<Long, LocalDate> notRejectedDueDateMap = new LinkedHashMap<>();
+    notRejectedDueDateMap.put(1L, SEVEN_MONTHS_AGO);
+    notRejectedDueDateMap.put(2L, FOUR_MONTHS_AGO);
+    notRejectedDueDateMap.put(4L, FOUR_MONTHS_AGO);
+    notRejectedDueDateMap.put(5L, SEVEN_MONTHS_AGO);
+    Map<Long, LocalDate> rejectedDueDateMap = new LinkedHashMap<>();
+    rejectedDueDateMap.put(3L, SEVEN_MONTHS_AGO);
+    rejectedDueDateMap.put(4L, FOUR_MONTHS_AGO);
+    rejectedDueDateMap.put(5L, SEVEN_MONTHS_AGO);
+
+    DoubtfulCustomerService doubtfulCustomerService =
+        new DoubtfulCustomerService(
+            null, null, null, null, null, null, null, null, appBaseService, null, null, null) {
+          @Override
+          protected Map<Long, LocalDate> getMoveLineDueDateMap(
+              Company company,
+              Account doubtfulCustomerAccount,
+              int debtMonthNumber,
+              boolean isReject) {
+            Assertions.assertEquals(3, debtMonthNumber);
+            return isReject ? rejectedDueDateMap : notRejectedDueDateMap;
+          }
+        };
+    moveLineMap = doubtfulCustomerService.getMoveLineMap(company, new Account());
+  }
+
+  @Test
+  void testGetMoveLineMapNotRejectedSixMonths() {
+    Assertions.assertEquals(Pair.of(6, false), moveLineMap.get(1L));
+  }
+
+  @Test
+  void testGetMoveLineMapNotRejectedThreeMonths() {
+    Assertions.assertEquals(Pair.of(3, false), moveLineMap.get(2L));
+  }
+
+  @Test
+  void testGetMoveLineMapRejectedSixMonthsGetsThreeMonthPair() {
+    Assertions.assertEquals(Pair.of(3, true), moveLineMap.get(3L));
+  }
+
+  @Test
+  void testGetMoveLineMapBothKindsThreeMonthsIsRejected() {
+    Assertions.assertEquals(Pair.of(3, true), moveLineMap.get(4L));
+  }
+
+  @Test
+  void testGetMoveLineMapBothKindsSixMonthsIsNotRejected() {
+    Assertions.assertEquals(Pair.of(6, false), moveLineMap.get(5L));
+  }
+
+  @Test
+  void testGetMoveLineMapOrderedByPair() {
+    Assertions.assertEquals(List.of(1L, 5L, 3L, 4L, 2L), List.copyOf(moveLineMap.keySet()));
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.base.callable;
+
+import java.time.LocalDateTime;
+
+/** State of a long-running process submitted to the {@link AsyncJobService}. */
+public class AsyncJob {
+
+  public enum Status {
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED
+  }
+
+  protected final String id;
+  protected final String name;
+  protected final Long userId;
+  protected final LocalDateTime submittedDateT = LocalDateTime.now();
+
+  protected volatile Status status = Status.PENDING;
+  protected volatile LocalDateTime startDateT;
+  protected volatile LocalDateTime endDateT;
+  protected volatile long queueDuration;
+  protected volatile long executionDuration;
+  protected volatile int progress;
+  protected volatile Object result;
+  protected volatile String errorMessage;
+
+  public AsyncJob(String id, String name, Long userId) {
+    this.id = id;
+    this.name = name;
+    this.userId = userId;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public Long getUserId() {
+    return userId;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public boolean isFinished() {
+    return status == Status.DONE || status == Status.FAILED;
+  }
+
+  /** Progress of the job, between 0 and 100. */
+  public int getProgress() {
+    return progress;
+  }
+
+  public void setProgress(int progress) {
+    this.progress = Math.max(0, Math.min(100, progress));
+  }
+
+  public LocalDateTime getSubmittedDateT() {
+    return submittedDateT;
+  }
+
+  public LocalDateTime getStartDateT() {
+    return startDateT;
+  }
+
+  public LocalDateTime getEndDateT() {
+    return endDateT;
+  }
+
+  /** Time spent in the queue before the job started, in milliseconds. */
+  public long getQueueDuration() {
+    return queueDuration;
+  }
+
+  /** Time spent running the job, in milliseconds. */
+  public long getExecutionDuration() {
+    return executionDuration;
+  }
+
+  /** Value returned by the job, once done. */
+  public Object getResult() {
+    return result;
+  }
+
+  public String getErrorMessage() {
+    return errorMessage;
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.base.callable;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Runs long-running processes on bounded pools of threads and keeps track of their state. Actions
+ * launched from the interface and scheduled jobs have their own pool, so that long scheduled jobs
+ * cannot delay interactive actions.
+ */
+public interface AsyncJobService {
+
+  /**
+   * Submit an action launched from the interface to the interactive pool. The current user is
+   * propagated to the thread running the callable.
+   *
+   * @param name a name describing the job
+   * @param callable the process to run
+   * @return the handle of the registered job, whose id can be used to follow its state with
+   *     {@link #getJob(String)}
+   * @throws java.util.concurrent.RejectedExecutionException if the queue of the pool is full
+   */
+  <V> AsyncJobHandle<V> submit(String name, Callable<V> callable);
+
+  /**
+   * Submit a scheduled job to the scheduled jobs pool. The current user is propagated to the
+   * thread running the callable.
+   *
+   * @param name a name describing the job
+   * @param callable the process to run
+   * @return the handle of the registered job, whose id can be used to follow its state with
+   *     {@link #getJob(String)}
+   * @throws java.util.concurrent.RejectedExecutionException if the queue of the pool is full
+   */
+  <V> AsyncJobHandle<V> submitScheduled(String name, Callable<V> callable);
+
+  /**
+   * Return the job registered with the given id. Finished jobs are kept for an hour, so that their
+   * state and result can still be polled.
+   */
+  Optional<AsyncJob> getJob(String jobId);
+
+  /** Return the job run by the current thread, so that the process can report its progress. */
+  Optional<AsyncJob> getCurrentJob();
+
+  Collection<AsyncJob> getJobs();
+
+  /** Number of actions launched from the interface waiting for a thread. */
+  int getQueueSize();
+
+  /** Number of scheduled jobs waiting for a thread. */
+  int getScheduledQueueSize();
+
+  /** Number of jobs currently running, in both pools. */
+  int getActiveCount();
+
+  /** Number of finished jobs, in both pools. */
+  long getCompletedCount();
+
+  /** Average time spent by the finished jobs in the queue, in milliseconds. */
+  double getAverageQueueDuration();
+
+  /** Average execution time of the finished jobs, in milliseconds. */
+  double getAverageExecutionDuration();
+
+  /**
+   * Wrap the given callable so that it runs with the user of the current thread and ends its
+   * persistence context afterwards. Must be used for every task run on a pooled thread.
+   *
+   * @param callable the task to run on another thread
+   * @return the wrapped task
+   */
+  <V> Callable<V> withCurrentContext(Callable<V> callable);
+
+  /**
+   * Create a fixed size pool of threads to run the tasks of a single process in parallel. Tasks
+   * must be wrapped with {@link #withCurrentContext(Callable)} and the pool must be shut down by
+   * the caller.
+   *
+   * @param name a name describing the process, used to name the threads
+   * @param threadCount the number of threads
+   * @return a new executor
+   */
+  ExecutorService createWorkerExecutor(String name, int threadCount);
+
+  class AsyncJobHandle<V> {
+    protected final AsyncJob job;
+    protected final Future<V> future;
+
+    public AsyncJobHandle(AsyncJob job, Future<V> future) {
+      this.job = job;
+      this.future = future;
+    }
+
+    public AsyncJob getJob() {
+      return job;
+    }
+
+    public Future<V> getFuture() {
+      return future;
+    }
+  }
+}
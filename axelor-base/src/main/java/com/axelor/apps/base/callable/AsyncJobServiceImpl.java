@@ -0,0 +1,274 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.base.callable;
+
+import com.axelor.app.AppSettings;
+import com.axelor.auth.AuthUtils;
+import com.axelor.auth.db.User;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.persist.UnitOfWork;
+import java.lang.invoke.MethodHandles;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.shiro.subject.Subject;
+import org.apache.shiro.util.ThreadContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Singleton
+public class AsyncJobServiceImpl implements AsyncJobService {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  public static final String CONFIG_POOL_SIZE = "aos.async.pool-size";
+  public static final String CONFIG_QUEUE_SIZE = "aos.async.queue-size";
+  public static final String CONFIG_SCHEDULED_POOL_SIZE = "aos.async.scheduled-pool-size";
+  public static final String CONFIG_SCHEDULED_QUEUE_SIZE = "aos.async.scheduled-queue-size";
+
+  protected static final int DEFAULT_QUEUE_SIZE = 1000;
+  protected static final int DEFAULT_SCHEDULED_QUEUE_SIZE = 100;
+  protected static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(1);
+
+  protected final ThreadPoolExecutor executor;
+  protected final ThreadPoolExecutor scheduledExecutor;
+  protected final UnitOfWork unitOfWork;
+
+  protected final ThreadLocal<AsyncJob> currentJob = new ThreadLocal<>();
+  protected final Map<String, AsyncJob> jobMap = new ConcurrentHashMap<>();
+  protected final LongAdder completedCount = new LongAdder();
+  protected final LongAdder totalQueueDuration = new LongAdder();
+  protected final LongAdder totalExecutionDuration = new LongAdder();
+
+  @Inject
+  public AsyncJobServiceImpl(UnitOfWork unitOfWork) {
+    this.unitOfWork = unitOfWork;
+    AppSettings appSettings = AppSettings.get();
+    int processorCount = Runtime.getRuntime().availableProcessors();
+
+    executor =
+        createPool(
+            "aos-async-job-",
+            appSettings.getInt(CONFIG_POOL_SIZE, processorCount),
+            appSettings.getInt(CONFIG_QUEUE_SIZE, DEFAULT_QUEUE_SIZE));
+    scheduledExecutor =
+        createPool(
+            "aos-scheduled-job-",
+            appSettings.getInt(CONFIG_SCHEDULED_POOL_SIZE, processorCount),
+            appSettings.getInt(CONFIG_SCHEDULED_QUEUE_SIZE, DEFAULT_SCHEDULED_QUEUE_SIZE));
+  }
+
+  protected ThreadPoolExecutor createPool(String threadNamePrefix, int poolSize, int queueSize) {
+    poolSize = Math.max(1, poolSize);
+    ThreadPoolExecutor pool =
+        new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            60,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(Math.max(1, queueSize)),
+            new AsyncJobThreadFactory(threadNamePrefix));
+    pool.allowCoreThreadTimeOut(true);
+    return pool;
+  }
+
+  @Override
+  public <V> AsyncJobHandle<V> submit(String name, Callable<V> callable) {
+    return submit(executor, name, callable);
+  }
+
+  @Override
+  public <V> AsyncJobHandle<V> submitScheduled(String name, Callable<V> callable) {
+    return submit(scheduledExecutor, name, callable);
+  }
+
+  protected <V> AsyncJobHandle<V> submit(
+      ThreadPoolExecutor pool, String name, Callable<V> callable) {
+    User user = AuthUtils.getUser();
+    AsyncJob job =
+        new AsyncJob(UUID.randomUUID().toString(), name, user != null ? user.getId() : null);
+    removeFinishedJobs();
+    jobMap.put(job.getId(), job);
+
+    try {
+      Future<V> future = pool.submit(wrap(pool, job, callable));
+      return new AsyncJobHandle<>(job, future);
+    } catch (RuntimeException e) {
+      jobMap.remove(job.getId());
+      throw e;
+    }
+  }
+
+  protected <V> Callable<V> wrap(ThreadPoolExecutor pool, AsyncJob job, Callable<V> callable) {
+    Callable<V> task = withCurrentContext(callable);
+
+    return () -> {
+      start(job);
+      currentJob.set(job);
+      try {
+        V result = task.call();
+        job.result = result;
+        finish(pool, job, AsyncJob.Status.DONE);
+        return result;
+      } catch (Exception e) {
+        job.errorMessage = e.getMessage();
+        finish(pool, job, AsyncJob.Status.FAILED);
+        throw e;
+      } finally {
+        currentJob.remove();
+      }
+    };
+  }
+
+  /**
+   * Pooled threads are reused, so the security context and the persistence context must be bound
+   * to the thread for the duration of the task only.
+   */
+  @Override
+  public <V> Callable<V> withCurrentContext(Callable<V> callable) {
+    final Subject subject = ThreadContext.getSubject();
+
+    return () -> {
+      ThreadContext.remove();
+      try {
+        return subject != null ? subject.associateWith(callable).call() : callable.call();
+      } finally {
+        ThreadContext.remove();
+        unitOfWork.end();
+      }
+    };
+  }
+
+  @Override
+  public ExecutorService createWorkerExecutor(String name, int threadCount) {
+    return Executors.newFixedThreadPool(
+        Math.max(1, threadCount), new AsyncJobThreadFactory("aos-" + name + "-"));
+  }
+
+  protected void start(AsyncJob job) {
+    job.startDateT = LocalDateTime.now();
+    job.queueDuration = Duration.between(job.getSubmittedDateT(), job.startDateT).toMillis();
+    job.status = AsyncJob.Status.RUNNING;
+  }
+
+  protected void finish(ThreadPoolExecutor pool, AsyncJob job, AsyncJob.Status status) {
+    job.endDateT = LocalDateTime.now();
+    job.executionDuration = Duration.between(job.startDateT, job.endDateT).toMillis();
+    if (status == AsyncJob.Status.DONE) {
+      job.setProgress(100);
+    }
+    job.status = status;
+    completedCount.increment();
+    totalQueueDuration.add(job.queueDuration);
+    totalExecutionDuration.add(job.executionDuration);
+
+    LOG.debug(
+        "Async job {} ({}) {} in {} ms after {} ms in queue, {} job(s) waiting",
+        job.getName(),
+        job.getId(),
+        status,
+        job.executionDuration,
+        job.queueDuration,
+        pool.getQueue().size());
+  }
+
+  protected void removeFinishedJobs() {
+    LocalDateTime limit = LocalDateTime.now().minus(FINISHED_JOB_RETENTION);
+    jobMap.values().removeIf(job -> job.isFinished() && job.getEndDateT().isBefore(limit));
+  }
+
+  @Override
+  public Optional<AsyncJob> getJob(String jobId) {
+    return Optional.ofNullable(jobId).map(jobMap::get);
+  }
+
+  @Override
+  public Optional<AsyncJob> getCurrentJob() {
+    return Optional.ofNullable(currentJob.get());
+  }
+
+  @Override
+  public Collection<AsyncJob> getJobs() {
+    return Collections.unmodifiableCollection(jobMap.values());
+  }
+
+  @Override
+  public int getQueueSize() {
+    return executor.getQueue().size();
+  }
+
+  @Override
+  public int getScheduledQueueSize() {
+    return scheduledExecutor.getQueue().size();
+  }
+
+  @Override
+  public int getActiveCount() {
+    return executor.getActiveCount() + scheduledExecutor.getActiveCount();
+  }
+
+  @Override
+  public long getCompletedCount() {
+    return completedCount.sum();
+  }
+
+  @Override
+  public double getAverageQueueDuration() {
+    long count = getCompletedCount();
+    return count == 0 ? 0 : (double) totalQueueDuration.sum() / count;
+  }
+
+  @Override
+  public double getAverageExecutionDuration() {
+    long count = getCompletedCount();
+    return count == 0 ? 0 : (double) totalExecutionDuration.sum() / count;
+  }
+
+  protected static class AsyncJobThreadFactory implements ThreadFactory {
+    protected final String threadNamePrefix;
+    protected final AtomicInteger threadNumber = new AtomicInteger(1);
+
+    public AsyncJobThreadFactory(String threadNamePrefix) {
+      this.threadNamePrefix = threadNamePrefix;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, threadNamePrefix + threadNumber.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
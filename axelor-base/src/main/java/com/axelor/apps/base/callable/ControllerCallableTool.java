@@ -18,6 +18,7 @@
  */
 package com.axelor.apps.base.callable;
 
+import com.axelor.apps.base.exceptions.BaseExceptionMessage;
 import com.axelor.apps.base.service.app.AppBaseService;
 import com.axelor.apps.base.service.exception.TraceBackService;
 import com.axelor.i18n.I18n;
@@ -26,11 +27,11 @@ import com.axelor.rpc.ActionResponse;
 import com.axelor.utils.exception.UtilsExceptionMessage;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import org.apache.commons.lang3.StringUtils;
 
 /**
  * Tool class to call specific callable services in a controller.
@@ -40,8 +41,9 @@ import java.util.concurrent.TimeoutException;
 public class ControllerCallableTool<V> {
 
   /**
-   * Run the given callable in a separate thread. display any occurring exception in the given
-   * response. If the thread is not over before the timeout, send a notification to the user.
+   * Run the given callable in a separate thread of the interactive {@link AsyncJobService} pool.
+   * display any occurring exception in the given response. If the thread is not over before the
+   * timeout, send a notification to the user.
    *
    * @param callable a callable service
    * @param response a response available in a controller
@@ -49,10 +51,15 @@ public class ControllerCallableTool<V> {
    */
   public V runInSeparateThread(Callable<V> callable, ActionResponse response) {
     V result = null;
-    ExecutorService executor = Executors.newSingleThreadExecutor();
+    Future<V> future;
 
     // Start thread
-    Future<V> future = executor.submit(callable);
+    try {
+      future = Beans.get(AsyncJobService.class).submit(getJobName(callable), callable).getFuture();
+    } catch (RejectedExecutionException e) {
+      response.setInfo(I18n.get(BaseExceptionMessage.ASYNC_JOB_QUEUE_FULL));
+      return null;
+    }
 
     int processTimeout = Beans.get(AppBaseService.class).getProcessTimeout();
     // Wait processTimeout seconds
@@ -69,4 +76,9 @@ public class ControllerCallableTool<V> {
     }
     return result;
   }
+
+  /** Name of the job, without the suffix added to the class name by the injector. */
+  protected String getJobName(Callable<V> callable) {
+    return StringUtils.substringBefore(callable.getClass().getSimpleName(), "$$");
+  }
 }
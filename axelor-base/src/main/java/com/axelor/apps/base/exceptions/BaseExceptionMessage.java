@@ -109,6 +109,8 @@ public final class BaseExceptionMessage {
   public static final String ABSTRACT_BATCH_1 = /*$$(*/ "This batch is not runnable!" /*)*/;
 
   public static final String ABSTRACT_BATCH_2 = /*$$(*/ "Nested batch execution!" /*)*/;
+  public static final String ABSTRACT_BATCH_RUNNING = /*$$(*/
+      "This batch is already running!" /*)*/;
   public static final String ABSTRACT_BATCH_REPORT = /*$$(*/ "Batch report:" /*)*/;
   public static final String ABSTRACT_BATCH_DONE_SINGULAR = /*$$(*/
       "%d record processed successfully," /*)*/;
@@ -690,4 +692,9 @@ public final class BaseExceptionMessage {
 
   public static final String LOCALIZATION_LANGUAGE_EMPTY = /*$$(*/
       "Language is empty for the localization %s" /*)*/;
+
+  public static final String ASYNC_JOB_QUEUE_FULL = /*$$(*/
+      "Too many processes are currently running, please try again later." /*)*/;
+
+  public static final String ASYNC_JOB_NOT_FOUND = /*$$(*/ "No process found with the id %s" /*)*/;
 }
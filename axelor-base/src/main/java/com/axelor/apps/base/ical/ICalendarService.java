@@ -66,6 +66,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 import javax.xml.parsers.ParserConfigurationException;
 import net.fortuna.ical4j.connector.FailedOperationException;
 import net.fortuna.ical4j.connector.ObjectStoreException;
@@ -617,16 +618,23 @@ public class ICalendarService {
   public void sync(ICalendar calendar, boolean all, int weeks)
       throws MalformedURLException, ICalendarException {
     if (all || calendar.getLastSynchronizationDateT() == null) {
-      sync(calendar, null, null);
+      sync(calendar, null, null, !all);
     } else {
       int nbOfWeeks = weeks <= 0 ? calendar.getSynchronizationDuration() : weeks;
       LocalDateTime now = Beans.get(AppBaseService.class).getTodayDateTime().toLocalDateTime();
-      sync(calendar, now.minusWeeks(nbOfWeeks), now.plusWeeks(nbOfWeeks));
+      sync(calendar, now.minusWeeks(nbOfWeeks), now.plusWeeks(nbOfWeeks), true);
     }
   }
 
+  /**
+   * Synchronize the events of the calendar between the given dates.
+   *
+   * @param skipIfUpToDate if true, nothing is done when the calendar is up to date, see {@link
+   *     #isUpToDate(ICalendar, String)}
+   */
   @Transactional(rollbackOn = {Exception.class})
-  protected void sync(ICalendar calendar, LocalDateTime startDate, LocalDateTime endDate)
+  protected void sync(
+      ICalendar calendar, LocalDateTime startDate, LocalDateTime endDate, boolean skipIfUpToDate)
       throws ICalendarException, MalformedURLException {
     PathResolver RESOLVER = getPathResolver(calendar.getTypeSelect());
     Protocol protocol = getProtocol(calendar.getIsSslConnection());
@@ -640,7 +648,15 @@ public class ICalendarService {
           && store.connect(calendar.getLogin(), password)) {
         List<CalDavCalendarCollection> colList = store.getCollections();
         if (!colList.isEmpty()) {
-          calendar = doSync(calendar, colList.get(0), startDate, endDate);
+          CalDavCalendarCollection collection = colList.get(0);
+          String remoteCtag = ICalendarStore.getCtag(collection);
+          if (skipIfUpToDate && isUpToDate(calendar, remoteCtag)) {
+            return;
+          }
+          calendar = doSync(calendar, collection, startDate, endDate);
+          // Keep the tag read before synchronizing: remote changes made meanwhile by another client
+          // are then loaded by the next synchronization.
+          calendar.setRemoteCtag(remoteCtag);
           calendar.setLastSynchronizationDateT(
               Beans.get(AppBaseService.class).getTodayDateTime().toLocalDateTime());
           Beans.get(ICalendarRepository.class).save(calendar);
@@ -657,6 +673,27 @@ public class ICalendarService {
     }
   }
 
+  /**
+   * A calendar is up to date when the remote collection has not changed since the last
+   * synchronization, according to its tag, and no local event has been modified since then.
+   */
+  protected boolean isUpToDate(ICalendar calendar, String remoteCtag) {
+    if (StringUtils.isBlank(remoteCtag)
+        || !remoteCtag.equals(calendar.getRemoteCtag())
+        || calendar.getLastSynchronizationDateT() == null) {
+      return false;
+    }
+
+    return iEventRepo
+            .all()
+            .filter(
+                "self.calendar = ?1 AND COALESCE(self.updatedOn, self.createdOn) > ?2",
+                calendar,
+                calendar.getLastSynchronizationDateT())
+            .count()
+        == 0;
+  }
+
   @Transactional(rollbackOn = {Exception.class})
   protected ICalendar doSync(
       ICalendar calendar,
@@ -765,7 +802,7 @@ public class ICalendarService {
       LocalDateTime endDate) {
 
     QueryBuilder<ICalendarEvent> queryBuilder = QueryBuilder.of(ICalendarEvent.class);
-    queryBuilder.add("self.uid NOT in (:uids)").bind("uids", allRemoteUids);
+    queryBuilder.add("self.uid IS NOT NULL");
     queryBuilder.add("self.calendar = :calendar").bind("calendar", calendar);
     queryBuilder.add("self.archived = :archived OR self.archived IS NULL").bind("archived", false);
 
@@ -777,7 +814,15 @@ public class ICalendarService {
           .bind("end", endDate);
     }
 
-    for (ICalendarEvent event : queryBuilder.build().fetch()) {
+    // Compare the uids in memory rather than sending every remote uid back to the database
+    List<Long> deletedEventIds =
+        queryBuilder.build().select("uid").fetch(0, 0).stream()
+            .filter(values -> !allRemoteUids.contains((String) values.get("uid")))
+            .map(values -> (Long) values.get("id"))
+            .collect(Collectors.toList());
+
+    for (Long eventId : deletedEventIds) {
+      ICalendarEvent event = iEventRepo.find(eventId);
       if (ICalendarRepository.ICAL_ONLY.equals(calendar.getSynchronizationSelect())) {
         iEventRepo.remove(event);
       } else {
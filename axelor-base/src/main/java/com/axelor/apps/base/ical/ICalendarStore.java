@@ -41,7 +41,14 @@ import net.fortuna.ical4j.model.DateTime;
 import net.fortuna.ical4j.model.component.CalendarComponent;
 import net.fortuna.ical4j.model.component.VEvent;
 import net.fortuna.ical4j.util.CompatibilityHints;
+import org.apache.jackrabbit.webdav.DavConstants;
 import org.apache.jackrabbit.webdav.DavException;
+import org.apache.jackrabbit.webdav.MultiStatusResponse;
+import org.apache.jackrabbit.webdav.client.methods.PropFindMethod;
+import org.apache.jackrabbit.webdav.property.DavProperty;
+import org.apache.jackrabbit.webdav.property.DavPropertyName;
+import org.apache.jackrabbit.webdav.property.DavPropertyNameSet;
+import org.apache.jackrabbit.webdav.xml.Namespace;
 
 /**
  * This class delegates the {@link CalDavCalendarStore} and provides most common methods to deal
@@ -49,6 +56,10 @@ import org.apache.jackrabbit.webdav.DavException;
  */
 public class ICalendarStore {
 
+  protected static final DavPropertyName CTAG =
+      DavPropertyName.create(
+          "getctag", Namespace.getNamespace("CS", "http://calendarserver.org/ns/"));
+
   private CalDavCalendarStore deligateStore;
 
   static {
@@ -160,6 +171,36 @@ public class ICalendarStore {
     return events;
   }
 
+  /**
+   * Returns the collection tag of the given calendar, which changes each time an event of the
+   * collection is created, modified or deleted, or null if the server does not provide one.
+   */
+  public static String getCtag(CalDavCalendarCollection calendar) throws IOException {
+    DavPropertyNameSet propertyNames = new DavPropertyNameSet();
+    propertyNames.add(CTAG);
+    PropFindMethod propFindMethod =
+        new PropFindMethod(calendar.getPath(), propertyNames, DavConstants.DEPTH_0);
+
+    try {
+      calendar.getStore().getClient().execute(propFindMethod);
+      if (!propFindMethod.succeeded()) {
+        return null;
+      }
+      for (MultiStatusResponse response :
+          propFindMethod.getResponseBodyAsMultiStatus().getResponses()) {
+        DavProperty<?> ctag = response.getProperties(200).get(CTAG);
+        if (ctag != null && ctag.getValue() != null) {
+          return ctag.getValue().toString();
+        }
+      }
+    } catch (DavException e) {
+      return null;
+    } finally {
+      propFindMethod.releaseConnection();
+    }
+    return null;
+  }
+
   public CalDavCalendarStore getDelegateStore() {
     return deligateStore;
   }
@@ -18,13 +18,19 @@
  */
 package com.axelor.apps.base.job;
 
+import com.axelor.apps.base.callable.AsyncJobService;
+import com.axelor.apps.base.service.administration.BatchLeaseService;
 import com.axelor.apps.base.service.exception.TraceBackService;
 import com.axelor.db.JPA;
+import com.axelor.inject.Beans;
 import com.google.inject.persist.Transactional;
 import com.google.inject.servlet.RequestScoper;
 import com.google.inject.servlet.ServletScopes;
 import java.lang.invoke.MethodHandles;
 import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
 import org.quartz.Job;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
@@ -44,31 +50,57 @@ public abstract class ThreadedJob implements Job {
     }
 
     String name = context.getJobDetail().getKey().getName();
-    Thread thread = new Thread(() -> executeInThreadedRequestScope(context));
-    thread.setUncaughtExceptionHandler(
-        (t, e) -> {
-          final Throwable cause =
-              e instanceof UncheckedJobExecutionException && e.getCause() != null
-                  ? e.getCause()
-                  : e;
-          logger.error(cause.getMessage(), cause);
-          TraceBackService.trace(cause);
-        });
+
+    // Every node fires the trigger, only the first one to claim the fire time runs the job
+    BatchLeaseService batchLeaseService = Beans.get(BatchLeaseService.class);
+    String leaseKey = getLeaseKey(context);
+    if (!batchLeaseService.acquire(leaseKey, null)) {
+      logger.info("Job {} is already run by another node", name);
+      return;
+    }
+
     long startTime = System.currentTimeMillis();
 
     try {
-      thread.start();
-      thread.join();
+      Beans.get(AsyncJobService.class)
+          .submitScheduled(
+              name,
+              () -> {
+                executeInThreadedRequestScope(context);
+                return null;
+              })
+          .getFuture()
+          .get();
+    } catch (ExecutionException e) {
+      traceJobException(e.getCause());
+    } catch (RejectedExecutionException e) {
+      traceJobException(e);
     } catch (InterruptedException e) {
       TraceBackService.trace(e);
       Thread.currentThread().interrupt();
     } finally {
+      batchLeaseService.complete(leaseKey);
       float duration = (System.currentTimeMillis() - startTime) / 1000f;
       logger.info("Job {} duration: {} s", name, duration);
       JPA.clear();
     }
   }
 
+  protected String getLeaseKey(JobExecutionContext context) {
+    Date fireTime =
+        context.getScheduledFireTime() != null
+            ? context.getScheduledFireTime()
+            : context.getFireTime();
+    return "job:" + context.getJobDetail().getKey().getName() + ":" + fireTime.getTime();
+  }
+
+  protected void traceJobException(Throwable e) {
+    final Throwable cause =
+        e instanceof UncheckedJobExecutionException && e.getCause() != null ? e.getCause() : e;
+    logger.error(cause.getMessage(), cause);
+    TraceBackService.trace(cause);
+  }
+
   public abstract void executeInThread(JobExecutionContext context);
 
   protected void executeInThreadedRequestScope(JobExecutionContext context) {
@@ -21,6 +21,8 @@ package com.axelor.apps.base.module;
 import com.axelor.app.AppSettings;
 import com.axelor.app.AxelorModule;
 import com.axelor.apps.account.db.repo.TaxRepository;
+import com.axelor.apps.base.callable.AsyncJobService;
+import com.axelor.apps.base.callable.AsyncJobServiceImpl;
 import com.axelor.apps.base.db.PartnerAddress;
 import com.axelor.apps.base.db.repo.ABCAnalysisBaseRepository;
 import com.axelor.apps.base.db.repo.ABCAnalysisRepository;
@@ -185,6 +187,8 @@ import com.axelor.apps.base.service.address.CityService;
 import com.axelor.apps.base.service.address.CityServiceImpl;
 import com.axelor.apps.base.service.address.CountryService;
 import com.axelor.apps.base.service.address.CountryServiceImpl;
+import com.axelor.apps.base.service.administration.BatchLeaseService;
+import com.axelor.apps.base.service.administration.BatchLeaseServiceImpl;
 import com.axelor.apps.base.service.administration.SequenceVersionGeneratorQueryService;
 import com.axelor.apps.base.service.administration.SequenceVersionGeneratorQueryServiceImpl;
 import com.axelor.apps.base.service.administration.SequenceVersionGeneratorService;
@@ -510,5 +514,7 @@ public class BaseModule extends AxelorModule {
         .to(DataSharingProductWizardManagementRepository.class);
     bind(LanguageCheckerService.class).to(LanguageCheckerServiceImpl.class);
     bind(ProductPriceListService.class).to(ProductPriceListServiceImpl.class);
+    bind(AsyncJobService.class).to(AsyncJobServiceImpl.class);
+    bind(BatchLeaseService.class).to(BatchLeaseServiceImpl.class);
   }
 }
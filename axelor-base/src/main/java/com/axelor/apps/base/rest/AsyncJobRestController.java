@@ -0,0 +1,72 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.base.rest;
+
+import com.axelor.apps.base.AxelorException;
+import com.axelor.apps.base.callable.AsyncJob;
+import com.axelor.apps.base.callable.AsyncJobService;
+import com.axelor.apps.base.db.repo.TraceBackRepository;
+import com.axelor.apps.base.exceptions.BaseExceptionMessage;
+import com.axelor.apps.base.rest.dto.AsyncJobResponse;
+import com.axelor.auth.AuthUtils;
+import com.axelor.auth.db.User;
+import com.axelor.i18n.I18n;
+import com.axelor.inject.Beans;
+import com.axelor.utils.api.HttpExceptionHandler;
+import com.axelor.utils.api.ResponseConstructor;
+import io.swagger.v3.oas.annotations.Operation;
+import java.util.Objects;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+@Path("/aos/async-job")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public class AsyncJobRestController {
+
+  /**
+   * Poll the state, progress and result of a job submitted by the current user. Full path to
+   * request is /ws/aos/async-job/{jobId}
+   */
+  @Operation(
+      summary = "Get async job state",
+      tags = {"Async job"})
+  @Path("/{jobId}")
+  @GET
+  @HttpExceptionHandler
+  public Response getJob(@PathParam("jobId") String jobId) throws AxelorException {
+    User user = AuthUtils.getUser();
+    AsyncJob job =
+        Beans.get(AsyncJobService.class)
+            .getJob(jobId)
+            .filter(asyncJob -> user != null && Objects.equals(asyncJob.getUserId(), user.getId()))
+            .orElseThrow(
+                () ->
+                    new AxelorException(
+                        TraceBackRepository.CATEGORY_NO_VALUE,
+                        I18n.get(BaseExceptionMessage.ASYNC_JOB_NOT_FOUND),
+                        jobId));
+    return ResponseConstructor.build(Response.Status.OK, AsyncJobResponse.build(job));
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.base.rest.dto;
+
+import com.axelor.apps.base.callable.AsyncJob;
+import java.time.LocalDateTime;
+
+public class AsyncJobResponse {
+
+  private String id;
+  private String name;
+  private String status;
+  private int progress;
+  private LocalDateTime submittedDateT;
+  private LocalDateTime startDateT;
+  private LocalDateTime endDateT;
+  private Object result;
+  private String errorMessage;
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  public int getProgress() {
+    return progress;
+  }
+
+  public void setProgress(int progress) {
+    this.progress = progress;
+  }
+
+  public LocalDateTime getSubmittedDateT() {
+    return submittedDateT;
+  }
+
+  public void setSubmittedDateT(LocalDateTime submittedDateT) {
+    this.submittedDateT = submittedDateT;
+  }
+
+  public LocalDateTime getStartDateT() {
+    return startDateT;
+  }
+
+  public void setStartDateT(LocalDateTime startDateT) {
+    this.startDateT = startDateT;
+  }
+
+  public LocalDateTime getEndDateT() {
+    return endDateT;
+  }
+
+  public void setEndDateT(LocalDateTime endDateT) {
+    this.endDateT = endDateT;
+  }
+
+  public Object getResult() {
+    return result;
+  }
+
+  public void setResult(Object result) {
+    this.result = result;
+  }
+
+  public String getErrorMessage() {
+    return errorMessage;
+  }
+
+  public void setErrorMessage(String errorMessage) {
+    this.errorMessage = errorMessage;
+  }
+
+  /** Only simple results are returned, entities and other objects cannot be serialized safely. */
+  public static AsyncJobResponse build(AsyncJob job) {
+    AsyncJobResponse response = new AsyncJobResponse();
+    response.setId(job.getId());
+    response.setName(job.getName());
+    response.setStatus(job.getStatus().name());
+    response.setProgress(job.getProgress());
+    response.setSubmittedDateT(job.getSubmittedDateT());
+    response.setStartDateT(job.getStartDateT());
+    response.setEndDateT(job.getEndDateT());
+    Object result = job.getResult();
+    if (result instanceof String || result instanceof Number || result instanceof Boolean) {
+      response.setResult(result);
+    }
+    response.setErrorMessage(job.getErrorMessage());
+    return response;
+  }
+}
@@ -63,6 +63,7 @@ public abstract class AbstractBatch {
   protected Model model;
 
   @Inject protected BatchRepository batchRepo;
+  @Inject protected BatchLeaseService batchLeaseService;
 
   private int done;
   private int anomaly;
@@ -111,25 +112,39 @@ public abstract class AbstractBatch {
       throw new IllegalStateException(I18n.get(BaseExceptionMessage.ABSTRACT_BATCH_2));
     }
 
-    if (isRunnable(model)) {
-      try {
-        threadBatchId.set(batch.getId());
-        setHistoryInformation(model);
-        start();
-        process();
-        stop();
-        return batch;
-      } catch (Exception e) {
-        throw new RuntimeException(e);
-      } finally {
-        threadBatchId.remove();
-        unarchived();
+    // The lease prevents the same batch from being run at the same time by another node
+    String leaseKey = getLeaseKey(model);
+    if (!batchLeaseService.acquire(leaseKey, batch)) {
+      throw new IllegalStateException(I18n.get(BaseExceptionMessage.ABSTRACT_BATCH_RUNNING));
+    }
+
+    try {
+      if (isRunnable(model)) {
+        try {
+          threadBatchId.set(batch.getId());
+          setHistoryInformation(model);
+          start();
+          process();
+          stop();
+          return batch;
+        } catch (Exception e) {
+          throw new RuntimeException(e);
+        } finally {
+          threadBatchId.remove();
+          unarchived();
+        }
+      } else {
+        throw new RuntimeException(I18n.get(BaseExceptionMessage.ABSTRACT_BATCH_1));
       }
-    } else {
-      throw new RuntimeException(I18n.get(BaseExceptionMessage.ABSTRACT_BATCH_1));
+    } finally {
+      batchLeaseService.release(leaseKey);
     }
   }
 
+  protected String getLeaseKey(Model model) {
+    return EntityHelper.getEntityClass(model).getName() + ":" + model.getId();
+  }
+
   protected abstract void process() throws SQLException;
 
   protected boolean isRunnable(Model model) {
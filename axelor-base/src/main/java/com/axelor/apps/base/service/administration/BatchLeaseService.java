@@ -0,0 +1,47 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.base.service.administration;
+
+import com.axelor.apps.base.db.Batch;
+
+/**
+ * Manages leases stored in database, used to make sure that a batch or a part of a batch is run by
+ * a single application node at a time. A lease is kept alive by a heartbeat as long as it is held,
+ * and can be claimed by another node once it has expired, for example if its node died.
+ */
+public interface BatchLeaseService {
+
+  /** Return the identifier of the current application node. */
+  String getNodeId();
+
+  /**
+   * Try to acquire the lease with the given key for the current node.
+   *
+   * @param leaseKey the key of the lease, for example the batch configuration or a chunk of work
+   * @param batch the batch run holding the lease, can be null
+   * @return true if the lease has been acquired, false if it is held by another node or done
+   */
+  boolean acquire(String leaseKey, Batch batch);
+
+  /** Release the given lease so that it can be acquired again. */
+  void release(String leaseKey);
+
+  /** Release the given lease and mark it as done so that it can not be acquired again. */
+  void complete(String leaseKey);
+}
@@ -0,0 +1,287 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.base.service.administration;
+
+import com.axelor.app.AppSettings;
+import com.axelor.apps.base.db.Batch;
+import com.axelor.apps.base.db.BatchLease;
+import com.axelor.db.JPA;
+import com.google.inject.Singleton;
+import java.lang.invoke.MethodHandles;
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+import javax.persistence.PersistenceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Singleton
+public class BatchLeaseServiceImpl implements BatchLeaseService {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  public static final String CONFIG_NODE_ID = "aos.cluster.node-id";
+  public static final String CONFIG_LEASE_DURATION = "aos.batch.lease-duration";
+
+  protected static final int DEFAULT_LEASE_DURATION = 120;
+  protected static final Duration DONE_LEASE_RETENTION = Duration.ofDays(1);
+
+  /** SQL states of a unique constraint violation, on PostgreSQL and on MySQL. */
+  protected static final String SQL_STATE_UNIQUE_VIOLATION = "23505";
+
+  protected static final String SQL_STATE_INTEGRITY_VIOLATION = "23000";
+  protected static final int MYSQL_ERROR_DUPLICATE_ENTRY = 1062;
+
+  protected final String nodeId;
+  protected final Duration leaseDuration;
+  protected final Set<String> heldLeaseKeys = ConcurrentHashMap.newKeySet();
+  protected final ScheduledExecutorService heartbeatExecutor;
+  protected volatile EntityManagerFactory entityManagerFactory;
+
+  public BatchLeaseServiceImpl() {
+    AppSettings appSettings = AppSettings.get();
+    nodeId =
+        appSettings.get(
+            CONFIG_NODE_ID,
+            ManagementFactory.getRuntimeMXBean().getName()
+                + "-"
+                + UUID.randomUUID().toString().substring(0, 8));
+    leaseDuration =
+        Duration.ofSeconds(
+            Math.max(10, appSettings.getInt(CONFIG_LEASE_DURATION, DEFAULT_LEASE_DURATION)));
+
+    // Renew the held leases three times per lease duration so that a single missed heartbeat does
+    // not make them expire.
+    long heartbeatPeriod = leaseDuration.getSeconds() / 3;
+    heartbeatExecutor =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "aos-batch-lease-heartbeat");
+              thread.setDaemon(true);
+              return thread;
+            });
+    heartbeatExecutor.scheduleWithFixedDelay(
+        this::heartbeat, heartbeatPeriod, heartbeatPeriod, TimeUnit.SECONDS);
+  }
+
+  @Override
+  public String getNodeId() {
+    return nodeId;
+  }
+
+  @Override
+  public boolean acquire(String leaseKey, Batch batch) {
+    Long batchId = batch != null ? batch.getId() : null;
+    boolean acquired;
+
+    try {
+      acquired =
+          runInNewTransaction(
+              em -> {
+                LocalDateTime now = getDatabaseDateTime(em);
+                return takeOverExpiredLease(em, leaseKey, batchId, now)
+                    || insertLease(em, leaseKey, batchId, now);
+              });
+    } catch (PersistenceException e) {
+      if (!isUniqueConstraintViolation(e)) {
+        throw e;
+      }
+      // Another node inserted the lease at the same time
+      LOG.debug("Lease {} could not be acquired: {}", leaseKey, e.getMessage());
+      acquired = false;
+    }
+
+    if (acquired) {
+      heldLeaseKeys.add(leaseKey);
+    }
+    return acquired;
+  }
+
+  protected boolean takeOverExpiredLease(
+      EntityManager em, String leaseKey, Long batchId, LocalDateTime now) {
+    return em.createQuery(
+                "UPDATE BatchLease self SET self.nodeId = :nodeId, self.batch = :batch, "
+                    + "self.acquiredDateT = :now, self.expiryDateT = :expiryDateT "
+                    + "WHERE self.leaseKey = :leaseKey AND COALESCE(self.isDone, false) = false "
+                    + "AND self.expiryDateT < CURRENT_TIMESTAMP")
+            .setParameter("nodeId", nodeId)
+            .setParameter("batch", batchId != null ? em.getReference(Batch.class, batchId) : null)
+            .setParameter("now", now)
+            .setParameter("expiryDateT", now.plus(leaseDuration))
+            .setParameter("leaseKey", leaseKey)
+            .executeUpdate()
+        > 0;
+  }
+
+  protected boolean insertLease(
+      EntityManager em, String leaseKey, Long batchId, LocalDateTime now) {
+    long count =
+        em.createQuery(
+                "SELECT COUNT(self) FROM BatchLease self WHERE self.leaseKey = :leaseKey",
+                Long.class)
+            .setParameter("leaseKey", leaseKey)
+            .getSingleResult();
+    if (count > 0) {
+      return false;
+    }
+
+    BatchLease batchLease = new BatchLease();
+    batchLease.setLeaseKey(leaseKey);
+    batchLease.setNodeId(nodeId);
+    batchLease.setBatch(batchId != null ? em.getReference(Batch.class, batchId) : null);
+    batchLease.setAcquiredDateT(now);
+    batchLease.setExpiryDateT(now.plus(leaseDuration));
+    em.persist(batchLease);
+    em.flush();
+    return true;
+  }
+
+  @Override
+  public void release(String leaseKey) {
+    heldLeaseKeys.remove(leaseKey);
+    runInNewTransaction(
+        em ->
+            em.createQuery(
+                    "DELETE FROM BatchLease self "
+                        + "WHERE self.leaseKey = :leaseKey AND self.nodeId = :nodeId")
+                .setParameter("leaseKey", leaseKey)
+                .setParameter("nodeId", nodeId)
+                .executeUpdate());
+  }
+
+  @Override
+  public void complete(String leaseKey) {
+    heldLeaseKeys.remove(leaseKey);
+    runInNewTransaction(
+        em ->
+            em.createQuery(
+                    "UPDATE BatchLease self SET self.isDone = true, "
+                        + "self.expiryDateT = CURRENT_TIMESTAMP "
+                        + "WHERE self.leaseKey = :leaseKey AND self.nodeId = :nodeId")
+                .setParameter("leaseKey", leaseKey)
+                .setParameter("nodeId", nodeId)
+                .executeUpdate());
+  }
+
+  /** Extend the held leases and remove the leases which have been done for a while. */
+  protected void heartbeat() {
+    if (entityManagerFactory == null) {
+      // No lease has been acquired yet by this node
+      return;
+    }
+
+    try {
+      List<String> leaseKeyList = new ArrayList<>(heldLeaseKeys);
+
+      runInNewTransaction(
+          em -> {
+            LocalDateTime now = getDatabaseDateTime(em);
+            if (!leaseKeyList.isEmpty()) {
+              int renewed =
+                  em.createQuery(
+                          "UPDATE BatchLease self SET self.expiryDateT = :expiryDateT "
+                              + "WHERE self.leaseKey IN (:leaseKeys) AND self.nodeId = :nodeId")
+                      .setParameter("expiryDateT", now.plus(leaseDuration))
+                      .setParameter("leaseKeys", leaseKeyList)
+                      .setParameter("nodeId", nodeId)
+                      .executeUpdate();
+              if (renewed < leaseKeyList.size()) {
+                LOG.warn(
+                    "Node {} lost {} lease(s) among {}",
+                    nodeId,
+                    leaseKeyList.size() - renewed,
+                    leaseKeyList);
+              }
+            }
+            return em.createQuery(
+                    "DELETE FROM BatchLease self "
+                        + "WHERE self.isDone = true AND self.expiryDateT < :limit")
+                .setParameter("limit", now.minus(DONE_LEASE_RETENTION))
+                .executeUpdate();
+          });
+    } catch (Exception e) {
+      LOG.error("Error while renewing the batch leases of node " + nodeId, e);
+    }
+  }
+
+  /**
+   * Leases are compared and computed with the time of the database, shared by every node, instead
+   * of the clock of the current node.
+   */
+  protected LocalDateTime getDatabaseDateTime(EntityManager em) {
+    Object result = em.createNativeQuery("SELECT CURRENT_TIMESTAMP").getSingleResult();
+    if (result instanceof Timestamp) {
+      return ((Timestamp) result).toLocalDateTime();
+    }
+    return (LocalDateTime) result;
+  }
+
+  protected boolean isUniqueConstraintViolation(Throwable throwable) {
+    for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+      if (cause instanceof SQLException) {
+        SQLException sqlException = (SQLException) cause;
+        if (SQL_STATE_UNIQUE_VIOLATION.equals(sqlException.getSQLState())
+            || (SQL_STATE_INTEGRITY_VIOLATION.equals(sqlException.getSQLState())
+                && sqlException.getErrorCode() == MYSQL_ERROR_DUPLICATE_ENTRY)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Leases are read and written with a dedicated entity manager so that they are committed
+   * independently of the transaction of the batch.
+   */
+  protected <T> T runInNewTransaction(Function<EntityManager, T> function) {
+    if (entityManagerFactory == null) {
+      entityManagerFactory = JPA.em().getEntityManagerFactory();
+    }
+    EntityManager em = entityManagerFactory.createEntityManager();
+    EntityTransaction transaction = em.getTransaction();
+    try {
+      transaction.begin();
+      T result = function.apply(em);
+      transaction.commit();
+      return result;
+    } catch (RuntimeException e) {
+      if (transaction.isActive()) {
+        transaction.rollback();
+      }
+      throw e;
+    } finally {
+      em.close();
+    }
+  }
+}
@@ -40,6 +40,7 @@ import com.axelor.apps.cash.management.db.Forecast;
 import com.axelor.apps.cash.management.db.ForecastRecap;
 import com.axelor.apps.cash.management.db.ForecastRecapLine;
 import com.axelor.apps.cash.management.db.ForecastRecapLineType;
+import com.axelor.apps.cash.management.db.repo.ForecastRecapLineRepository;
 import com.axelor.apps.cash.management.db.repo.ForecastRecapLineTypeRepository;
 import com.axelor.apps.cash.management.db.repo.ForecastRecapRepository;
 import com.axelor.apps.cash.management.exception.CashManagementExceptionMessage;
@@ -69,9 +70,8 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -87,10 +87,13 @@ public class ForecastRecapServiceImpl implements ForecastRecapService {
 
   private final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+  protected static final int FETCH_LIMIT = 100;
+
   protected AppBaseService appBaseService;
   protected CurrencyService currencyService;
   protected ForecastRecapLineTypeRepository forecastRecapLineTypeRepo;
   protected ForecastRecapRepository forecastRecapRepo;
+  protected ForecastRecapLineRepository forecastRecapLineRepo;
   protected TimetableRepository timetableRepo;
   protected InvoiceTermRepository invoiceTermRepo;
   protected JournalService journalService;
@@ -104,6 +107,7 @@ public class ForecastRecapServiceImpl implements ForecastRecapService {
       CurrencyService currencyService,
       ForecastRecapLineTypeRepository forecastRecapLineTypeRepo,
       ForecastRecapRepository forecastRecapRepo,
+      ForecastRecapLineRepository forecastRecapLineRepo,
       TimetableRepository timetableRepo,
       InvoiceTermRepository invoiceTermRepo,
       JournalService journalService) {
@@ -111,6 +115,7 @@ public class ForecastRecapServiceImpl implements ForecastRecapService {
     this.currencyService = currencyService;
     this.forecastRecapLineTypeRepo = forecastRecapLineTypeRepo;
     this.forecastRecapRepo = forecastRecapRepo;
+    this.forecastRecapLineRepo = forecastRecapLineRepo;
     this.timetableRepo = timetableRepo;
     this.invoiceTermRepo = invoiceTermRepo;
     this.journalService = journalService;
@@ -238,9 +243,10 @@ public class ForecastRecapServiceImpl implements ForecastRecapService {
       bankDetailsIdList.add((long) 0);
     }
 
+    // Keyset pagination on the id: each page costs the same whatever its position
     Query<? extends Model> modelQuery =
         JPA.all(getModel(forecastRecapLineType))
-            .filter(getFilter(forecastRecapLineType))
+            .filter("(" + getFilter(forecastRecapLineType) + ") AND self.id > :lastId")
             .bind("company", forecastRecap.getCompany())
             .bind("fromDate", forecastRecap.getFromDate())
             .bind("toDate", forecastRecap.getToDate())
@@ -258,21 +264,30 @@ public class ForecastRecapServiceImpl implements ForecastRecapService {
             .bind("functionalOrigin", functionalOriginList)
             .order("id");
 
-    final int FETCH_LIMIT = 10;
-    int offset = 0;
+    long lastId = 0L;
     List<? extends Model> modelList;
 
-    while (!(modelList = modelQuery.fetch(FETCH_LIMIT, offset)).isEmpty()) {
-      for (Model model : modelList) {
-        offset++;
-        createForecastRecapLines(forecastRecap, model, forecastRecapLineType);
-      }
+    while (!(modelList = modelQuery.bind("lastId", lastId).fetch(FETCH_LIMIT)).isEmpty()) {
+      lastId = modelList.get(modelList.size() - 1).getId();
+      createForecastRecapLines(forecastRecap, modelList, forecastRecapLineType);
       JPA.clear();
       forecastRecap = forecastRecapRepo.find(forecastRecap.getId());
       forecastRecapLineType = forecastRecapLineTypeRepo.find(forecastRecapLineType.getId());
     }
   }
 
+  /** Creates the lines of a whole page of models in a single transaction. */
+  @Transactional(rollbackOn = {Exception.class})
+  protected void createForecastRecapLines(
+      ForecastRecap forecastRecap,
+      List<? extends Model> modelList,
+      ForecastRecapLineType forecastRecapLineType)
+      throws AxelorException {
+    for (Model model : modelList) {
+      createForecastRecapLines(forecastRecap, model, forecastRecapLineType);
+    }
+  }
+
   /**
    * Handles special cases where we need to create multiple lines for one model. For most
    * forecastRecapLineType, this method will only call {@link
@@ -1001,45 +1016,34 @@ public class ForecastRecapServiceImpl implements ForecastRecapService {
         Optional.ofNullable(bankDetails).map(BankDetails::getFullName).orElse(""));
 
     forecastRecapLine.setForecastRecapLineType(forecastRecapLineType);
-    forecastRecap.addForecastRecapLineListItem(forecastRecapLine);
+    // Persist the line on its own rather than saving the recap, which would load all its lines
+    forecastRecapLine.setForecastRecap(forecastRecap);
 
-    forecastRecapRepo.save(forecastRecap);
+    forecastRecapLineRepo.save(forecastRecapLine);
   }
 
   @Override
   public void computeForecastRecapLineBalance(ForecastRecap forecastRecap) {
+    BigDecimal currentBalance = forecastRecap.getCurrentBalance();
 
-    List<ForecastRecapLine> forecastRecapLines = forecastRecap.getForecastRecapLineList();
-
-    Collections.sort(
-        forecastRecapLines,
-        new Comparator<ForecastRecapLine>() {
-          @Override
-          public int compare(
-              ForecastRecapLine forecastRecapLine1, ForecastRecapLine forecastRecapLine2) {
-            int compareEstimatedDate =
-                forecastRecapLine1
-                    .getEstimatedDate()
-                    .compareTo(forecastRecapLine2.getEstimatedDate());
-            int compareTypeSelect =
-                forecastRecapLine1
-                    .getForecastRecapLineType()
-                    .getSequence()
-                    .compareTo(forecastRecapLine2.getForecastRecapLineType().getSequence());
-            int compareId = forecastRecapLine1.getId().compareTo(forecastRecapLine2.getId());
-            if (compareEstimatedDate == 0) {
-              return compareTypeSelect == 0 ? compareId : compareTypeSelect;
-            }
-            return compareEstimatedDate;
-          }
-        });
+    // Sorted by the database and read in a single pass
+    Iterator<ForecastRecapLine> forecastRecapLineIterator =
+        forecastRecapLineRepo
+            .all()
+            .filter("self.forecastRecap = :forecastRecap")
+            .bind("forecastRecap", forecastRecap)
+            .order("estimatedDate")
+            .order("forecastRecapLineType.sequence")
+            .order("id")
+            .fetchStream()
+            .iterator();
 
-    for (ForecastRecapLine forecastRecapLine : forecastRecapLines) {
-      forecastRecap.setCurrentBalance(
-          forecastRecap.getCurrentBalance().add(forecastRecapLine.getAmount()));
-      forecastRecapLine.setBalance(forecastRecap.getCurrentBalance());
+    while (forecastRecapLineIterator.hasNext()) {
+      ForecastRecapLine forecastRecapLine = forecastRecapLineIterator.next();
+      currentBalance = currentBalance.add(forecastRecapLine.getAmount());
+      forecastRecapLine.setBalance(currentBalance);
     }
-    forecastRecap.setForecastRecapLineList(forecastRecapLines);
+    forecastRecap.setCurrentBalance(currentBalance);
   }
 
   @Override
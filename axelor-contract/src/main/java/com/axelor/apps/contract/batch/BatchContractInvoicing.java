@@ -34,9 +34,7 @@ import com.google.inject.persist.Transactional;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
-import javax.persistence.Query;
-import org.apache.commons.collections.CollectionUtils;
+import javax.persistence.TypedQuery;
 
 public class BatchContractInvoicing extends BatchStrategy {
 
@@ -58,44 +56,56 @@ public class BatchContractInvoicing extends BatchStrategy {
     ContractBatch contractBatch = batch.getContractBatch();
     contractBatch = contractBatchRepository.find(contractBatch.getId());
     String filter =
-        "SELECT array_to_string(array_agg(self.id), ',') "
-            + "FROM contract_contract as self "
-            + "WHERE self.is_invoicing_management IS TRUE "
-            + "AND self.invoicing_date <= :invoicingDate "
-            + "AND self.status_select != :closedContract "
-            + "AND (SELECT automatic_invoicing FROM contract_contract_version WHERE contract_contract_version.id = self.current_contract_version) IS TRUE "
-            + "AND self.id NOT IN (SELECT DISTINCT contract_set FROM account_invoice_contract_set) "
-            + "GROUP BY self.invoiced_partner, self.invoicing_date, self.invoice_period_end_date, self.invoice_period_start_date, self.is_grouped_invoicing";
+        "SELECT self.id, invoicedPartner.id, self.invoicingDate, self.invoicePeriodEndDate, "
+            + "self.invoicePeriodStartDate, self.isGroupedInvoicing "
+            + "FROM Contract self "
+            + "LEFT JOIN self.invoicedPartner invoicedPartner "
+            + "JOIN self.currentContractVersion currentContractVersion "
+            + "WHERE self.isInvoicingManagement = true "
+            + "AND self.invoicingDate <= :invoicingDate "
+            + "AND self.statusSelect != :closedContract "
+            + "AND currentContractVersion.automaticInvoicing = true "
+            + "AND NOT EXISTS (SELECT invoice.id FROM Invoice invoice "
+            + "JOIN invoice.contractSet contract WHERE contract = self) "
+            + "ORDER BY invoicedPartner.id, self.invoicingDate, self.invoicePeriodEndDate, "
+            + "self.invoicePeriodStartDate, self.isGroupedInvoicing, self.id";
 
-    Query query =
+    TypedQuery<Object[]> query =
         JPA.em()
-            .createNativeQuery(filter)
+            .createQuery(filter, Object[].class)
             .setParameter("invoicingDate", contractBatch.getInvoicingDate())
             .setParameter("closedContract", AbstractContractRepository.CLOSED_CONTRACT);
 
-    List<String> stringList = query.getResultList();
-    return convertStringToLongList(stringList);
+    return groupIdsByInvoicingKey(query.getResultList());
   }
 
-  protected List<List<Long>> convertStringToLongList(List<String> stringList) {
+  /**
+   * Split the rows, sorted by invoicing key then id, into one id list per invoicing key. The
+   * first column of each row is the contract id, the remaining ones form the invoicing key.
+   */
+  protected List<List<Long>> groupIdsByInvoicingKey(List<Object[]> rowList) {
     List<List<Long>> longList = new ArrayList<>();
-    if (CollectionUtils.isNotEmpty(stringList)) {
-      for (String list : stringList) {
-        longList.add(
-            Arrays.stream(list.split(","))
-                .map(s -> Long.parseLong(s.trim()))
-                .collect(Collectors.toList()));
+    List<Object> previousKey = null;
+    List<Long> currentIdList = null;
+    for (Object[] row : rowList) {
+      List<Object> key = Arrays.asList(row).subList(1, row.length);
+      if (!key.equals(previousKey)) {
+        currentIdList = new ArrayList<>();
+        longList.add(currentIdList);
+        previousKey = key;
       }
+      currentIdList.add((Long) row[0]);
     }
     return longList;
   }
 
   protected List<Contract> findContractsInList(List<Long> contractList) {
-    List<Contract> refindContractList = new ArrayList<>();
-    for (Long id : contractList) {
-      refindContractList.add(contractRepository.find(id));
-    }
-    return refindContractList;
+    return contractRepository
+        .all()
+        .filter("self.id IN (:contractIdList)")
+        .bind("contractIdList", contractList)
+        .order("id")
+        .fetch();
   }
 
   @Transactional
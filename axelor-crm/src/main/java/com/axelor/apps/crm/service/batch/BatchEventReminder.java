@@ -31,6 +31,7 @@ import com.axelor.apps.crm.db.repo.EventRepository;
 import com.axelor.apps.crm.exception.CrmExceptionMessage;
 import com.axelor.apps.crm.message.MessageServiceCrmImpl;
 import com.axelor.db.JPA;
+import com.axelor.db.Query;
 import com.axelor.i18n.I18n;
 import com.axelor.inject.Beans;
 import com.axelor.message.db.EmailAddress;
@@ -42,9 +43,10 @@ import com.axelor.message.service.MessageService;
 import com.google.inject.Inject;
 import com.google.inject.persist.Transactional;
 import java.lang.invoke.MethodHandles;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
-import javax.persistence.Query;
+import javax.persistence.TypedQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -76,92 +78,104 @@ public class BatchEventReminder extends BatchStrategy {
 
     if (!stop) {
 
-      int i = 0;
+      LocalDateTime todayDateTime =
+          Beans.get(AppBaseService.class).getTodayDateTime().toLocalDateTime();
 
-      List<? extends EventReminder> eventReminderList = eventReminderRepo.all().fetch();
+      // Reminders already sent or of finished events are never due again, so only the pending
+      // ones are loaded, page by page.
+      Query<EventReminder> query =
+          eventReminderRepo
+              .all()
+              .filter(
+                  "self.isReminded = false "
+                      + "AND self.event.statusSelect = :plannedStatus "
+                      + "AND (self.modeSelect != :atDateMode "
+                      + "OR self.sendingDateT < :todayDateTime) "
+                      + "AND self.id > :lastId")
+              .bind("plannedStatus", EventRepository.STATUS_PLANNED)
+              .bind("atDateMode", EventReminderRepository.MODE_AT_DATE)
+              .bind("todayDateTime", todayDateTime)
+              .order("id");
 
-      for (EventReminder eventReminder : eventReminderList) {
+      long lastId = 0L;
+      List<EventReminder> eventReminderList;
 
-        try {
+      while (!(eventReminderList = query.bind("lastId", lastId).fetch(getFetchLimit()))
+          .isEmpty()) {
 
-          eventReminder = eventReminderRepo.find(eventReminder.getId());
+        for (EventReminder eventReminder : eventReminderList) {
 
-          Integer eventStatusSelect = eventReminder.getEvent().getStatusSelect();
-          boolean eventIsNotFinished = eventStatusSelect == EventRepository.STATUS_PLANNED;
-          if (!eventReminder.getIsReminded() && isExpired(eventReminder) && eventIsNotFinished) {
-            updateEventReminder(eventReminder);
-            i++;
-          }
+          lastId = eventReminder.getId();
 
-        } catch (Exception e) {
+          try {
 
-          TraceBackService.trace(
-              new Exception(
-                  String.format(
-                      I18n.get(CrmExceptionMessage.BATCH_EVENT_REMINDER_1),
-                      eventReminderRepo.find(eventReminder.getId()).getEvent().getSubject()),
-                  e),
-              ExceptionOriginRepository.CRM,
-              batch.getId());
+            if (isExpired(eventReminder, todayDateTime)) {
+              updateEventReminder(eventReminder);
+            }
 
-          incrementAnomaly();
+          } catch (Exception e) {
 
-          LOG.error(
-              "Bug(Anomalie) généré(e) pour le rappel de l'évènement {}",
-              eventReminderRepo.find(eventReminder.getId()).getEvent().getSubject());
+            TraceBackService.trace(
+                new Exception(
+                    String.format(
+                        I18n.get(CrmExceptionMessage.BATCH_EVENT_REMINDER_1),
+                        eventReminder.getEvent().getSubject()),
+                    e),
+                ExceptionOriginRepository.CRM,
+                batch.getId());
 
-        } finally {
+            incrementAnomaly();
 
-          if (i % 1 == 0) {
-            JPA.clear();
+            LOG.error(
+                "Bug(Anomalie) généré(e) pour le rappel de l'évènement {}",
+                eventReminder.getEvent().getSubject());
           }
         }
+
+        JPA.clear();
       }
     }
   }
 
   protected boolean isExpired(EventReminder eventReminder) {
+    return isExpired(
+        eventReminder, Beans.get(AppBaseService.class).getTodayDateTime().toLocalDateTime());
+  }
 
-    LocalDateTime startDateTime = eventReminder.getEvent().getStartDateTime();
+  protected boolean isExpired(EventReminder eventReminder, LocalDateTime todayDateTime) {
+    LocalDateTime dueDateTime = getDueDateTime(eventReminder);
+    return dueDateTime != null && dueDateTime.isBefore(todayDateTime);
+  }
+
+  /**
+   * Returns the date time from which the reminder has to be sent, or null if it cannot be
+   * computed from the reminder duration type.
+   */
+  protected LocalDateTime getDueDateTime(EventReminder eventReminder) {
 
     if (EventReminderRepository.MODE_AT_DATE.equals(eventReminder.getModeSelect())) {
-      return eventReminder
-          .getSendingDateT()
-          .isBefore(Beans.get(AppBaseService.class).getTodayDateTime().toLocalDateTime());
-    } else { // defaults to EventReminderRepository.MODE_BEFORE_DATE
-      int durationTypeSelect = eventReminder.getDurationTypeSelect();
-      switch (durationTypeSelect) {
-        case EventReminderRepository.DURATION_TYPE_MINUTES:
-          if ((startDateTime.minusMinutes(eventReminder.getDuration()))
-              .isBefore(Beans.get(AppBaseService.class).getTodayDateTime().toLocalDateTime())) {
-            return true;
-          }
-          break;
+      return eventReminder.getSendingDateT();
+    }
 
-        case EventReminderRepository.DURATION_TYPE_HOURS:
-          if ((startDateTime.minusHours(eventReminder.getDuration()))
-              .isBefore(Beans.get(AppBaseService.class).getTodayDateTime().toLocalDateTime())) {
-            return true;
-          }
-          break;
+    // defaults to EventReminderRepository.MODE_BEFORE_DATE
+    LocalDateTime startDateTime = eventReminder.getEvent().getStartDateTime();
+    int durationTypeSelect = eventReminder.getDurationTypeSelect();
+    switch (durationTypeSelect) {
+      case EventReminderRepository.DURATION_TYPE_MINUTES:
+        return startDateTime.minusMinutes(eventReminder.getDuration());
 
-        case EventReminderRepository.DURATION_TYPE_DAYS:
-          if ((startDateTime.minusDays(eventReminder.getDuration()))
-              .isBefore(Beans.get(AppBaseService.class).getTodayDateTime().toLocalDateTime())) {
-            return true;
-          }
-          break;
+      case EventReminderRepository.DURATION_TYPE_HOURS:
+        return startDateTime.minusHours(eventReminder.getDuration());
 
-        case EventReminderRepository.DURATION_TYPE_WEEKS:
-          if ((startDateTime.minusWeeks(eventReminder.getDuration()))
-              .isBefore(Beans.get(AppBaseService.class).getTodayDateTime().toLocalDateTime())) {
-            return true;
-          }
-          break;
-      }
-    }
+      case EventReminderRepository.DURATION_TYPE_DAYS:
+        return startDateTime.minusDays(eventReminder.getDuration());
+
+      case EventReminderRepository.DURATION_TYPE_WEEKS:
+        return startDateTime.minusWeeks(eventReminder.getDuration());
 
-    return false;
+      default:
+        return null;
+    }
   }
 
   protected void generateMessageProcess() {
@@ -170,20 +184,23 @@ public class BatchEventReminder extends BatchStrategy {
 
     if (!stop) {
 
-      int i = 0;
+      int sentCount = 0;
+      long totalLatencySeconds = 0;
+      long maxLatencySeconds = 0;
 
-      Query q =
+      TypedQuery<Long> q =
           JPA.em()
               .createQuery(
-                  " SELECT er FROM EventReminder as er WHERE er.isReminded = true and ?1 MEMBER OF er.batchSet");
+                  "SELECT er.id FROM EventReminder as er "
+                      + "WHERE er.isReminded = true and ?1 MEMBER OF er.batchSet",
+                  Long.class);
       q.setParameter(1, batch);
 
-      @SuppressWarnings("unchecked")
-      List<EventReminder> eventReminderList = q.getResultList();
+      List<Long> eventReminderIdList = q.getResultList();
 
-      for (EventReminder eventReminder : eventReminderList) {
+      for (Long eventReminderId : eventReminderIdList) {
+        EventReminder eventReminder = eventReminderRepo.find(eventReminderId);
         try {
-          eventReminder = eventReminderRepo.find(eventReminder.getId());
           Message message = messageServiceCrmImpl.createMessage(eventReminder.getEvent());
 
           // Send reminder to owner of the reminder in any case
@@ -218,6 +235,17 @@ public class BatchEventReminder extends BatchStrategy {
           }
 
           message = Beans.get(MessageService.class).sendByEmail(message);
+
+          LocalDateTime dueDateTime = getDueDateTime(eventReminder);
+          if (dueDateTime != null) {
+            LocalDateTime sendingDateTime =
+                Beans.get(AppBaseService.class).getTodayDateTime().toLocalDateTime();
+            long latencySeconds =
+                Math.max(0, Duration.between(dueDateTime, sendingDateTime).getSeconds());
+            totalLatencySeconds += latencySeconds;
+            maxLatencySeconds = Math.max(maxLatencySeconds, latencySeconds);
+            sentCount++;
+          }
         } catch (Exception e) {
 
           TraceBackService.trace(
@@ -236,12 +264,17 @@ public class BatchEventReminder extends BatchStrategy {
               eventRepo.find(eventReminder.getEvent().getId()).getSubject());
 
         } finally {
-
-          if (i % 1 == 0) {
-            JPA.clear();
-          }
+          JPA.clear();
         }
       }
+
+      if (sentCount > 0) {
+        LOG.info(
+            "{} event reminders sent, latency from due time: average {}s, max {}s",
+            sentCount,
+            totalLatencySeconds / sentCount,
+            maxLatencySeconds);
+      }
     }
   }
 
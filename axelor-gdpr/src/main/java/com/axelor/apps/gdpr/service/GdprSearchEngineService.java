@@ -26,6 +26,23 @@ public interface GdprSearchEngineService {
 
   List<Map<String, Object>> searchObject(Map<String, Object> searchParams) throws AxelorException;
 
+  /**
+   * Search the records matching the given parameters in every configured model, returning at most
+   * {@link #getSearchResultLimit()} records per model.
+   *
+   * @param searchParams the search parameters
+   * @param truncatedModelList filled with the name of the models having more matching records
+   * @return the matching records
+   */
+  List<Map<String, Object>> searchObject(
+      Map<String, Object> searchParams, List<String> truncatedModelList) throws AxelorException;
+
+  /**
+   * @return the maximum number of records returned per model, configured with the {@code
+   *     aos.gdpr.search-result-limit} property, 0 or less meaning no limit.
+   */
+  int getSearchResultLimit();
+
   Map<String, Object> checkSelectedObject(List<Map<String, Object>> resultList)
       throws AxelorException;
 }
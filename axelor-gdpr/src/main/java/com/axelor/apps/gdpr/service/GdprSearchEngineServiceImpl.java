@@ -18,6 +18,7 @@
  */
 package com.axelor.apps.gdpr.service;
 
+import com.axelor.app.AppSettings;
 import com.axelor.apps.base.AxelorException;
 import com.axelor.apps.base.db.repo.TraceBackRepository;
 import com.axelor.apps.gdpr.db.GDPRSearchConfig;
@@ -44,6 +45,10 @@ import java.util.stream.Collectors;
 
 public class GdprSearchEngineServiceImpl implements GdprSearchEngineService {
 
+  public static final String CONFIG_SEARCH_RESULT_LIMIT = "aos.gdpr.search-result-limit";
+
+  protected static final int DEFAULT_SEARCH_RESULT_LIMIT = 200;
+
   protected AppGdprService appGDPRService;
   protected MetaModelRepository metaModelRepo;
 
@@ -57,11 +62,17 @@ public class GdprSearchEngineServiceImpl implements GdprSearchEngineService {
   @Override
   public List<Map<String, Object>> searchObject(Map<String, Object> searchParams)
       throws AxelorException {
+    return searchObject(searchParams, new ArrayList<>());
+  }
+
+  @Override
+  public List<Map<String, Object>> searchObject(
+      Map<String, Object> searchParams, List<String> truncatedModelList) throws AxelorException {
 
     List<Map<String, Object>> results = new ArrayList<>();
 
     try {
-      results = bindDataUsingSearchConfig(searchParams);
+      results = bindDataUsingSearchConfig(searchParams, truncatedModelList);
 
     } catch (ClassNotFoundException e) {
       throw new AxelorException(
@@ -98,6 +109,11 @@ public class GdprSearchEngineServiceImpl implements GdprSearchEngineService {
     }
   }
 
+  @Override
+  public int getSearchResultLimit() {
+    return AppSettings.get().getInt(CONFIG_SEARCH_RESULT_LIMIT, DEFAULT_SEARCH_RESULT_LIMIT);
+  }
+
   /**
    * search using search config
    *
@@ -107,6 +123,22 @@ public class GdprSearchEngineServiceImpl implements GdprSearchEngineService {
    */
   public List<Map<String, Object>> bindDataUsingSearchConfig(Map<String, Object> searchParams)
       throws ClassNotFoundException {
+    return bindDataUsingSearchConfig(searchParams, new ArrayList<>());
+  }
+
+  /**
+   * search using search config, returning at most {@link #getSearchResultLimit()} records per
+   * model
+   *
+   * @param searchParams
+   * @param truncatedModelList filled with the name of the models having more matching records
+   * @return
+   * @throws ClassNotFoundException
+   */
+  public List<Map<String, Object>> bindDataUsingSearchConfig(
+      Map<String, Object> searchParams, List<String> truncatedModelList)
+      throws ClassNotFoundException {
+    int searchResultLimit = getSearchResultLimit();
     List<GDPRSearchConfig> searchConfigs = appGDPRService.getAppGDPR().getSearchConfigList();
 
     List<Map<String, Object>> results = new ArrayList<>();
@@ -123,8 +155,19 @@ public class GdprSearchEngineServiceImpl implements GdprSearchEngineService {
       }
 
       //       apply search config query
-      List<? extends AuditableModel> models =
-          Query.of(modelClass).filter(query).bind(searchParams).fetch();
+      Query<? extends AuditableModel> modelQuery =
+          Query.of(modelClass).filter(query).bind(searchParams).order("id");
+      List<? extends AuditableModel> models;
+      if (searchResultLimit > 0) {
+        // Fetch one more record to know whether the results are truncated
+        models = modelQuery.fetch(searchResultLimit + 1);
+        if (models.size() > searchResultLimit) {
+          models = models.subList(0, searchResultLimit);
+          truncatedModelList.add(I18n.get(modelClass.getSimpleName()));
+        }
+      } else {
+        models = modelQuery.fetch();
+      }
 
       models.forEach(model -> results.add(convertResultToDisplayMap(searchConfig, model)));
     }
@@ -165,6 +208,7 @@ public class GdprSearchEngineServiceImpl implements GdprSearchEngineService {
   public Map<String, Object> convertResultToDisplayMap(
       GDPRSearchConfig searchConfig, AuditableModel reference) {
     Context scriptContext = new Context(Mapper.toMap(reference), reference.getClass());
+    GroovyScriptHelper scriptHelper = new GroovyScriptHelper(scriptContext);
     Map<String, Object> mappedObject = new HashMap<>();
 
     mappedObject.put("type", I18n.get(reference.getClass().getSimpleName()));
@@ -173,13 +217,24 @@ public class GdprSearchEngineServiceImpl implements GdprSearchEngineService {
 
     for (GDPRSearchConfigLine searchConfigLine : searchConfig.getSearchConfigLineList()) {
       mappedObject.put(
-          searchConfigLine.getKey(), evalField(scriptContext, searchConfigLine.getMapping()));
+          searchConfigLine.getKey(), evalField(scriptHelper, searchConfigLine.getMapping()));
     }
 
     return mappedObject;
   }
 
   public String evalField(Context context, String fieldName) {
+    return evalField(new GroovyScriptHelper(context), fieldName);
+  }
+
+  /**
+   * Evaluate the given field path, stopping at the first null value.
+   *
+   * @param scriptHelper script helper of the record, shared by all its fields
+   * @param fieldName the field path
+   * @return the value of the field, or an empty string
+   */
+  protected String evalField(GroovyScriptHelper scriptHelper, String fieldName) {
     String[] fields = fieldName.split("\\.");
     int count = 0;
     StringBuilder fieldToTest = new StringBuilder();
@@ -190,7 +245,7 @@ public class GdprSearchEngineServiceImpl implements GdprSearchEngineService {
         fieldToTest.append(".");
       }
       fieldToTest.append(fields[count]);
-      value = Optional.ofNullable(new GroovyScriptHelper(context).eval(fieldToTest.toString()));
+      value = Optional.ofNullable(scriptHelper.eval(fieldToTest.toString()));
 
       if (!value.isPresent()) {
         break;
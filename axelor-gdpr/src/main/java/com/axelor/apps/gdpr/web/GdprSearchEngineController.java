@@ -21,6 +21,7 @@ package com.axelor.apps.gdpr.web;
 import com.axelor.apps.base.AxelorException;
 import com.axelor.apps.base.ResponseMessageType;
 import com.axelor.apps.base.service.exception.TraceBackService;
+import com.axelor.apps.gdpr.exception.GdprExceptionMessage;
 import com.axelor.apps.gdpr.service.GdprSearchEngineService;
 import com.axelor.i18n.I18n;
 import com.axelor.inject.Beans;
@@ -63,8 +64,17 @@ public class GdprSearchEngineController {
       response.setAlert(I18n.get("Please enter at least one field."));
     } else {
       List<Map<String, Object>> resultList = new ArrayList<>();
+      List<String> truncatedModelList = new ArrayList<>();
+      GdprSearchEngineService gdprSearchEngineService = Beans.get(GdprSearchEngineService.class);
       try {
-        resultList = Beans.get(GdprSearchEngineService.class).searchObject(searchParams);
+        resultList = gdprSearchEngineService.searchObject(searchParams, truncatedModelList);
+        if (!truncatedModelList.isEmpty()) {
+          response.setInfo(
+              String.format(
+                  I18n.get(GdprExceptionMessage.SEARCH_RESULTS_TRUNCATED),
+                  gdprSearchEngineService.getSearchResultLimit(),
+                  String.join(", ", truncatedModelList)));
+        }
       } catch (AxelorException e) {
         TraceBackService.trace(e);
         response.setError(e.getMessage());
@@ -25,6 +25,8 @@ import com.axelor.apps.helpdesk.db.repo.TicketRepository;
 import com.axelor.apps.helpdesk.rest.service.TicketUpdateRestService;
 import com.axelor.apps.helpdesk.rest.service.TicketUpdateRestServiceImpl;
 import com.axelor.apps.helpdesk.service.MailServiceHelpDeskImpl;
+import com.axelor.apps.helpdesk.service.SlaWorkingDayService;
+import com.axelor.apps.helpdesk.service.SlaWorkingDayServiceImpl;
 import com.axelor.apps.helpdesk.service.TicketAssignmentService;
 import com.axelor.apps.helpdesk.service.TicketAssignmentServiceImpl;
 import com.axelor.apps.helpdesk.service.TicketSequenceService;
@@ -55,5 +57,6 @@ public class HelpdeskModule extends AxelorModule {
     bind(TicketStatusService.class).to(TicketStatusServiceImpl.class);
     bind(TicketSequenceService.class).to(TicketSequenceServiceImpl.class);
     bind(TicketAssignmentService.class).to(TicketAssignmentServiceImpl.class);
+    bind(SlaWorkingDayService.class).to(SlaWorkingDayServiceImpl.class);
   }
 }
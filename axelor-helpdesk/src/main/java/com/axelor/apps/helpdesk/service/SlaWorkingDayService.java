@@ -0,0 +1,42 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.helpdesk.service;
+
+import com.axelor.apps.base.db.EventsPlanning;
+import com.axelor.apps.base.db.WeeklyPlanning;
+import java.time.LocalDate;
+
+public interface SlaWorkingDayService {
+
+  /**
+   * Find the working day reached after the given number of working days, counting the start date
+   * if it is a working day.
+   *
+   * @param weeklyPlanning the weekly planning giving the working days of the week
+   * @param publicHolidayPlanning the public holidays, can be null
+   * @param fromDate the first date to count
+   * @param days the number of working days, must be positive
+   * @return the last working day counted, or null if the weekly planning has no working day
+   */
+  LocalDate getWorkingDay(
+      WeeklyPlanning weeklyPlanning,
+      EventsPlanning publicHolidayPlanning,
+      LocalDate fromDate,
+      int days);
+}
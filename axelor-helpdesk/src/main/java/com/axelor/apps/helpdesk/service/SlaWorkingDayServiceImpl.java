@@ -0,0 +1,130 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.helpdesk.service;
+
+import com.axelor.apps.base.db.EventsPlanning;
+import com.axelor.apps.base.db.WeeklyPlanning;
+import com.axelor.apps.base.service.weeklyplanning.WeeklyPlanningService;
+import com.axelor.db.JPA;
+import com.google.inject.Inject;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Computes working days arithmetically from the working days of the week, then shifts the result
+ * by the public holidays of the period, loaded with a single query per shift.
+ */
+public class SlaWorkingDayServiceImpl implements SlaWorkingDayService {
+
+  protected WeeklyPlanningService weeklyPlanningService;
+
+  @Inject
+  public SlaWorkingDayServiceImpl(WeeklyPlanningService weeklyPlanningService) {
+    this.weeklyPlanningService = weeklyPlanningService;
+  }
+
+  @Override
+  public LocalDate getWorkingDay(
+      WeeklyPlanning weeklyPlanning,
+      EventsPlanning publicHolidayPlanning,
+      LocalDate fromDate,
+      int days) {
+    boolean[] workingDayOfWeek = getWorkingDayOfWeek(weeklyPlanning, fromDate);
+    int workingDaysPerWeek = 0;
+    for (boolean workingDay : workingDayOfWeek) {
+      workingDaysPerWeek += workingDay ? 1 : 0;
+    }
+    if (workingDaysPerWeek == 0) {
+      return null;
+    }
+
+    LocalDate toDate = null;
+    while (days > 0) {
+      toDate = getWorkingDayOfWeek(workingDayOfWeek, workingDaysPerWeek, fromDate, days);
+      // every public holiday on a working day of the period postpones the deadline by a day
+      days = countWorkingPublicHolidays(workingDayOfWeek, publicHolidayPlanning, fromDate, toDate);
+      fromDate = toDate.plusDays(1);
+    }
+    return toDate;
+  }
+
+  /**
+   * Compute the working days of the week once, indexed by {@link DayOfWeek#getValue()} - 1.
+   *
+   * @param weeklyPlanning
+   * @param fromDate any date, used to browse a whole week
+   * @return the working days of the week
+   */
+  protected boolean[] getWorkingDayOfWeek(WeeklyPlanning weeklyPlanning, LocalDate fromDate) {
+    boolean[] workingDayOfWeek = new boolean[DayOfWeek.values().length];
+    for (int i = 0; i < workingDayOfWeek.length; i++) {
+      LocalDate date = fromDate.plusDays(i);
+      workingDayOfWeek[date.getDayOfWeek().getValue() - 1] =
+          weeklyPlanningService.getWorkingDayValueInDays(weeklyPlanning, date) != 0;
+    }
+    return workingDayOfWeek;
+  }
+
+  /** Find the n-th working day of the week starting from the given date, ignoring holidays. */
+  protected LocalDate getWorkingDayOfWeek(
+      boolean[] workingDayOfWeek, int workingDaysPerWeek, LocalDate fromDate, int days) {
+    int fullWeeks = (days - 1) / workingDaysPerWeek;
+    int remainingDays = days - fullWeeks * workingDaysPerWeek;
+    LocalDate date = fromDate.plusWeeks(fullWeeks);
+    while (true) {
+      if (workingDayOfWeek[date.getDayOfWeek().getValue() - 1] && --remainingDays == 0) {
+        return date;
+      }
+      date = date.plusDays(1);
+    }
+  }
+
+  protected int countWorkingPublicHolidays(
+      boolean[] workingDayOfWeek,
+      EventsPlanning publicHolidayPlanning,
+      LocalDate fromDate,
+      LocalDate toDate) {
+    int count = 0;
+    for (LocalDate date : getPublicHolidays(publicHolidayPlanning, fromDate, toDate)) {
+      if (workingDayOfWeek[date.getDayOfWeek().getValue() - 1]) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  protected List<LocalDate> getPublicHolidays(
+      EventsPlanning publicHolidayPlanning, LocalDate fromDate, LocalDate toDate) {
+    if (publicHolidayPlanning == null) {
+      return Collections.emptyList();
+    }
+    return JPA.em()
+        .createQuery(
+            "SELECT DISTINCT self.date FROM EventsPlanningLine self "
+                + "WHERE self.eventsPlanning.id = :eventsPlanningId "
+                + "AND self.date BETWEEN :fromDate AND :toDate",
+            LocalDate.class)
+        .setParameter("eventsPlanningId", publicHolidayPlanning.getId())
+        .setParameter("fromDate", fromDate)
+        .setParameter("toDate", toDate)
+        .getResultList();
+  }
+}
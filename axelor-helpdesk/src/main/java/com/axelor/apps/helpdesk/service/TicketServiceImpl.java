@@ -35,6 +35,7 @@ import com.axelor.utils.helpers.date.DurationHelper;
 import com.axelor.utils.helpers.date.LocalDateHelper;
 import com.google.inject.Inject;
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Comparator;
 import java.util.List;
@@ -52,7 +53,7 @@ public class TicketServiceImpl implements TicketService {
 
   protected AppBaseService appBaseService;
 
-  private LocalDateTime toDate;
+  protected SlaWorkingDayService slaWorkingDayService;
 
   @Inject
   public TicketServiceImpl(
@@ -60,12 +61,14 @@ public class TicketServiceImpl implements TicketService {
       SlaRepository slaRepo,
       PublicHolidayService publicHolidayService,
       WeeklyPlanningService weeklyPlanningService,
-      AppBaseService appBaseService) {
+      AppBaseService appBaseService,
+      SlaWorkingDayService slaWorkingDayService) {
     this.appHelpdeskRepo = appHelpdeskRepo;
     this.slaRepo = slaRepo;
     this.publicHolidayService = publicHolidayService;
     this.weeklyPlanningService = weeklyPlanningService;
     this.appBaseService = appBaseService;
+    this.slaWorkingDayService = slaWorkingDayService;
   }
 
   /**
@@ -151,7 +154,11 @@ public class TicketServiceImpl implements TicketService {
     if (sla.getIsWorkingDays() && company != null && company.getWeeklyPlanning() != null) {
       if (sla.getDays() > 0) {
         LocalDateTime fromDate = ticket.getStartDateT().plusDays(1);
-        this.calculateWorkingDays(fromDate, company, sla.getDays());
+        LocalDateTime toDate = this.calculateWorkingDays(fromDate, company, sla.getDays());
+        if (toDate == null) {
+          this.calculateAllDays(ticket, sla);
+          return;
+        }
         ticket.setDeadlineDateT(toDate.plusHours(sla.getHours()));
       } else {
         ticket.setDeadlineDateT(ticket.getStartDateT().plusHours(sla.getHours()));
@@ -178,30 +185,21 @@ public class TicketServiceImpl implements TicketService {
    * checked.
    *
    * @param fromDate
-   * @param employee
+   * @param company
    * @param days
+   * @return the date of the last working day, at the time of the from date, or null if the weekly
+   *     planning of the company has no working day
    * @throws AxelorException
    */
-  protected void calculateWorkingDays(LocalDateTime fromDate, Company company, int days)
+  protected LocalDateTime calculateWorkingDays(LocalDateTime fromDate, Company company, int days)
       throws AxelorException {
-
-    if (weeklyPlanningService.getWorkingDayValueInDays(
-                company.getWeeklyPlanning(), fromDate.toLocalDate())
-            == 0
-        || publicHolidayService.checkPublicHolidayDay(
-            fromDate.toLocalDate(), company.getPublicHolidayEventsPlanning())) {
-
-      fromDate = fromDate.plusDays(1);
-      this.calculateWorkingDays(fromDate, company, days);
-
-    } else {
-      toDate = fromDate;
-      days--;
-      if (days != 0) {
-        fromDate = fromDate.plusDays(1);
-        this.calculateWorkingDays(fromDate, company, days);
-      }
-    }
+    LocalDate toDate =
+        slaWorkingDayService.getWorkingDay(
+            company.getWeeklyPlanning(),
+            company.getPublicHolidayEventsPlanning(),
+            fromDate.toLocalDate(),
+            days);
+    return toDate == null ? null : toDate.atTime(fromDate.toLocalTime());
   }
 
   /** Check if SLA is completed or not. */
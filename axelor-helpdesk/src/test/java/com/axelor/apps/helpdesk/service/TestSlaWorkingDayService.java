@@ -0,0 +1,113 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.helpdesk.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.axelor.apps.base.db.EventsPlanning;
+import com.axelor.apps.base.db.WeeklyPlanning;
+import com.axelor.apps.base.service.weeklyplanning.WeeklyPlanningService;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class TestSlaWorkingDayService {
+
+  private static final LocalDate MONDAY = LocalDate.of(2024, 7, 1);
+
+  private static SlaWorkingDayServiceImpl createService(
+      boolean hasWorkingDays, List<LocalDate> publicHolidayList) {
+    WeeklyPlanningService weeklyPlanningService = mock(WeeklyPlanningService.class);
+    when(weeklyPlanningService.getWorkingDayValueInDays(any(), any()))
+        .thenAnswer(
+            invocation -> {
+              DayOfWeek dayOfWeek = ((LocalDate) invocation.getArgument(1)).getDayOfWeek();
+              boolean weekEnd = dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
+              return hasWorkingDays && !weekEnd ? 1.0 : 0.0;
+            });
+    return new SlaWorkingDayServiceImpl(weeklyPlanningService) {
+      @Override
+      protected List<LocalDate> getPublicHolidays(
+          EventsPlanning publicHolidayPlanning, LocalDate fromDate, LocalDate toDate) {
+        return publicHolidayList.stream()
+            .filter(date -> !date.isBefore(fromDate) && !date.isAfter(toDate))
+            .collect(Collectors.toList());
+      }
+    };
+  }
+
+  private static LocalDate getWorkingDay(
+      List<LocalDate> publicHolidayList, LocalDate fromDate, int days) {
+    return createService(true, publicHolidayList)
+        .getWorkingDay(new WeeklyPlanning(), new EventsPlanning(), fromDate, days);
+  }
+
+  @Test
+  void testGetWorkingDayShorterThanAWeek() {
+    Assertions.assertEquals(MONDAY.plusDays(2), getWorkingDay(List.of(), MONDAY, 3));
+  }
+
+  @Test
+  void testGetWorkingDayFromANonWorkingDay() {
+    Assertions.assertEquals(MONDAY.plusDays(8), getWorkingDay(List.of(), MONDAY.plusDays(5), 2));
+  }
+
+  @Test
+  void testGetWorkingDaySeveralWeeks() {
+    Assertions.assertEquals(MONDAY.plusDays(15), getWorkingDay(List.of(), MONDAY, 12));
+  }
+
+  @Test
+  void testGetWorkingDayHolidayOnANonWorkingDay() {
+    Assertions.assertEquals(
+        MONDAY.plusDays(8), getWorkingDay(List.of(MONDAY.plusDays(5)), MONDAY, 7));
+  }
+
+  @Test
+  void testGetWorkingDayHolidayOnAWorkingDay() {
+    Assertions.assertEquals(
+        MONDAY.plusDays(3), getWorkingDay(List.of(MONDAY.plusDays(2)), MONDAY, 3));
+  }
+
+  @Test
+  void testGetWorkingDayHolidaysPostponedOnHolidays() {
+    Assertions.assertEquals(
+        MONDAY.plusDays(7),
+        getWorkingDay(
+            List.of(MONDAY.plusDays(2), MONDAY.plusDays(3), MONDAY.plusDays(4)), MONDAY, 3));
+  }
+
+  @Test
+  void testGetWorkingDayHolidayAfterTheDeadline() {
+    Assertions.assertEquals(
+        MONDAY.plusDays(2), getWorkingDay(List.of(MONDAY.plusDays(3)), MONDAY, 3));
+  }
+
+  @Test
+  void testGetWorkingDayWithoutWorkingDay() {
+    Assertions.assertNull(
+        createService(false, List.of())
+            .getWorkingDay(new WeeklyPlanning(), new EventsPlanning(), MONDAY, 3));
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.hr.service;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Employees having leaves, extra hours, expenses, lunch vouchers, bonuses or an existing payroll
+ * preparation for a period, computed once for all the employees of a payroll preparation batch.
+ * Only ids are kept so that the index survives the clear of the persistence context.
+ */
+public class PayrollPreparationPeriodIndex {
+
+  protected final Set<Long> leaveEmployeeIdSet = new HashSet<>();
+  protected final Set<Long> extraHoursEmployeeIdSet = new HashSet<>();
+  protected final Set<Long> expenseEmployeeIdSet = new HashSet<>();
+  protected final Set<Long> lunchVoucherEmployeeIdSet = new HashSet<>();
+  protected final Set<Long> employeeBonusEmployeeIdSet = new HashSet<>();
+  protected final Set<Long> payrollPreparationEmployeeIdSet = new HashSet<>();
+
+  public boolean hasLeaves(Long employeeId) {
+    return leaveEmployeeIdSet.contains(employeeId);
+  }
+
+  public boolean hasExtraHours(Long employeeId) {
+    return extraHoursEmployeeIdSet.contains(employeeId);
+  }
+
+  public boolean hasExpenses(Long employeeId) {
+    return expenseEmployeeIdSet.contains(employeeId);
+  }
+
+  public boolean hasLunchVouchers(Long employeeId) {
+    return lunchVoucherEmployeeIdSet.contains(employeeId);
+  }
+
+  public boolean hasEmployeeBonuses(Long employeeId) {
+    return employeeBonusEmployeeIdSet.contains(employeeId);
+  }
+
+  public boolean hasPayrollPreparation(Long employeeId) {
+    return payrollPreparationEmployeeIdSet.contains(employeeId);
+  }
+}
@@ -19,6 +19,8 @@
 package com.axelor.apps.hr.service;
 
 import com.axelor.apps.base.AxelorException;
+import com.axelor.apps.base.db.Company;
+import com.axelor.apps.base.db.Period;
 import com.axelor.apps.base.db.repo.TraceBackRepository;
 import com.axelor.apps.base.service.app.AppBaseService;
 import com.axelor.apps.base.service.weeklyplanning.WeeklyPlanningService;
@@ -39,14 +41,17 @@ import com.axelor.apps.hr.db.repo.LunchVoucherMgtLineRepository;
 import com.axelor.apps.hr.exception.HumanResourceExceptionMessage;
 import com.axelor.apps.hr.service.config.HRConfigService;
 import com.axelor.apps.hr.service.leave.LeaveRequestComputeDurationService;
+import com.axelor.db.JPA;
 import com.axelor.i18n.I18n;
 import com.axelor.inject.Beans;
 import com.google.inject.Inject;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import javax.persistence.TypedQuery;
 import org.apache.commons.collections.CollectionUtils;
 
 public class PayrollPreparationService {
@@ -89,20 +94,147 @@ public class PayrollPreparationService {
 
   public List<PayrollLeave> fillInPayrollPreparation(PayrollPreparation payrollPreparation)
       throws AxelorException {
+    return fillInPayrollPreparation(payrollPreparation, null);
+  }
+
+  /**
+   * Fill in a new payroll preparation. When a period index is given, the leaves, expenses, lunch
+   * vouchers, bonuses and extra hours are only searched for the employees the index references.
+   *
+   * @param payrollPreparation the payroll preparation to fill in
+   * @param periodIndex (optional) the index computed by {@link #createPeriodIndex} for the
+   *     payroll preparation period
+   */
+  public List<PayrollLeave> fillInPayrollPreparation(
+      PayrollPreparation payrollPreparation, PayrollPreparationPeriodIndex periodIndex)
+      throws AxelorException {
+
+    Long employeeId = payrollPreparation.getEmployee().getId();
 
-    List<PayrollLeave> payrollLeaveList = fillInLeaves(payrollPreparation);
+    List<PayrollLeave> payrollLeaveList;
+    if (periodIndex == null || periodIndex.hasLeaves(employeeId)) {
+      payrollLeaveList = fillInLeaves(payrollPreparation);
+    } else {
+      checkWeeklyPlanning(payrollPreparation);
+      payrollLeaveList = new ArrayList<>();
+    }
 
     payrollPreparation.setDuration(
         this.computeWorkingDaysNumber(payrollPreparation, payrollLeaveList));
 
-    payrollPreparation.setExpenseAmount(this.computeExpenseAmount(payrollPreparation));
-    payrollPreparation.setLunchVoucherNumber(this.computeLunchVoucherNumber(payrollPreparation));
-    payrollPreparation.setEmployeeBonusAmount(computeEmployeeBonusAmount(payrollPreparation));
-    payrollPreparation.setExtraHoursNumber(computeExtraHoursNumber(payrollPreparation));
+    payrollPreparation.setExpenseAmount(
+        periodIndex == null || periodIndex.hasExpenses(employeeId)
+            ? this.computeExpenseAmount(payrollPreparation)
+            : BigDecimal.ZERO);
+    payrollPreparation.setLunchVoucherNumber(
+        periodIndex == null || periodIndex.hasLunchVouchers(employeeId)
+            ? this.computeLunchVoucherNumber(payrollPreparation)
+            : BigDecimal.ZERO);
+    payrollPreparation.setEmployeeBonusAmount(
+        periodIndex == null || periodIndex.hasEmployeeBonuses(employeeId)
+            ? computeEmployeeBonusAmount(payrollPreparation)
+            : BigDecimal.ZERO);
+    payrollPreparation.setExtraHoursNumber(
+        periodIndex == null || periodIndex.hasExtraHours(employeeId)
+            ? computeExtraHoursNumber(payrollPreparation)
+            : BigDecimal.ZERO);
 
     return payrollLeaveList;
   }
 
+  /**
+   * Compute with one grouped query per source the employees having leaves, extra hours, expenses,
+   * lunch vouchers or bonuses not yet linked to a payroll preparation for the period, and the
+   * employees already having a payroll preparation for the period and company.
+   *
+   * @param period the payroll period
+   * @param company (optional) the company of the payroll preparations
+   */
+  public PayrollPreparationPeriodIndex createPeriodIndex(Period period, Company company) {
+    PayrollPreparationPeriodIndex periodIndex = new PayrollPreparationPeriodIndex();
+    LocalDateTime fromDateTime = period.getFromDate().atStartOfDay();
+    LocalDateTime toDateTime = period.getToDate().plusDays(1).atStartOfDay();
+
+    periodIndex.leaveEmployeeIdSet.addAll(
+        JPA.em()
+            .createQuery(
+                "SELECT DISTINCT self.employee.id FROM LeaveRequest self "
+                    + "WHERE self.statusSelect = :statusSelect "
+                    + "AND self.fromDateT <= :toDateTime "
+                    + "AND (self.toDateT >= :fromDateTime OR self.toDateT IS NULL)",
+                Long.class)
+            .setParameter("statusSelect", LeaveRequestRepository.STATUS_VALIDATED)
+            .setParameter("fromDateTime", fromDateTime)
+            .setParameter("toDateTime", toDateTime)
+            .getResultList());
+
+    periodIndex.extraHoursEmployeeIdSet.addAll(
+        JPA.em()
+            .createQuery(
+                "SELECT DISTINCT self.employee.id FROM ExtraHoursLine self "
+                    + "WHERE self.extraHours.statusSelect = 3 "
+                    + "AND self.date BETWEEN :fromDate AND :toDate "
+                    + "AND self.payrollPreparation IS NULL",
+                Long.class)
+            .setParameter("fromDate", period.getFromDate())
+            .setParameter("toDate", period.getToDate())
+            .getResultList());
+
+    periodIndex.expenseEmployeeIdSet.addAll(
+        JPA.em()
+            .createQuery(
+                "SELECT DISTINCT self.employee.id FROM Expense self "
+                    + "WHERE self.statusSelect = :statusSelect "
+                    + "AND self.payrollPreparation IS NULL "
+                    + "AND self.companyCbSelect = :companyCbSelect "
+                    + "AND self.validationDateTime >= :fromDateTime "
+                    + "AND self.validationDateTime <= :toDateTime",
+                Long.class)
+            .setParameter("statusSelect", ExpenseRepository.STATUS_VALIDATED)
+            .setParameter("companyCbSelect", ExpenseRepository.COMPANY_CB_PAYMENT_NO)
+            .setParameter("fromDateTime", fromDateTime)
+            .setParameter("toDateTime", toDateTime)
+            .getResultList());
+
+    periodIndex.lunchVoucherEmployeeIdSet.addAll(
+        JPA.em()
+            .createQuery(
+                "SELECT DISTINCT self.employee.id FROM LunchVoucherMgtLine self "
+                    + "WHERE self.lunchVoucherMgt.statusSelect = 3 "
+                    + "AND self.payrollPreparation IS NULL "
+                    + "AND self.lunchVoucherMgt.payPeriod = :period",
+                Long.class)
+            .setParameter("period", period)
+            .getResultList());
+
+    periodIndex.employeeBonusEmployeeIdSet.addAll(
+        JPA.em()
+            .createQuery(
+                "SELECT DISTINCT self.employee.id FROM EmployeeBonusMgtLine self "
+                    + "WHERE self.statusSelect = :statusSelect "
+                    + "AND self.payrollPreparation IS NULL "
+                    + "AND self.employeeBonusMgt.payPeriod = :period",
+                Long.class)
+            .setParameter("statusSelect", EmployeeBonusMgtLineRepository.STATUS_CALCULATED)
+            .setParameter("period", period)
+            .getResultList());
+
+    TypedQuery<Long> payrollPreparationQuery =
+        JPA.em()
+            .createQuery(
+                "SELECT DISTINCT self.employee.id FROM PayrollPreparation self "
+                    + "WHERE self.period = :period"
+                    + (company != null ? " AND self.company = :company" : ""),
+                Long.class)
+            .setParameter("period", period);
+    if (company != null) {
+      payrollPreparationQuery.setParameter("company", company);
+    }
+    periodIndex.payrollPreparationEmployeeIdSet.addAll(payrollPreparationQuery.getResultList());
+
+    return periodIndex;
+  }
+
   public List<PayrollLeave> fillInLeaves(PayrollPreparation payrollPreparation)
       throws AxelorException {
 
@@ -111,13 +243,7 @@ public class PayrollPreparationService {
     LocalDate toDate = payrollPreparation.getPeriod().getToDate();
     Employee employee = payrollPreparation.getEmployee();
 
-    if (employee.getWeeklyPlanning() == null) {
-      throw new AxelorException(
-          payrollPreparation,
-          TraceBackRepository.CATEGORY_CONFIGURATION_ERROR,
-          I18n.get(HumanResourceExceptionMessage.EMPLOYEE_PLANNING),
-          employee.getName());
-    }
+    checkWeeklyPlanning(payrollPreparation);
 
     List<LeaveRequest> leaveRequestList =
         leaveRequestRepo
@@ -156,6 +282,17 @@ public class PayrollPreparationService {
     return payrollLeaveList;
   }
 
+  protected void checkWeeklyPlanning(PayrollPreparation payrollPreparation) throws AxelorException {
+    Employee employee = payrollPreparation.getEmployee();
+    if (employee.getWeeklyPlanning() == null) {
+      throw new AxelorException(
+          payrollPreparation,
+          TraceBackRepository.CATEGORY_CONFIGURATION_ERROR,
+          I18n.get(HumanResourceExceptionMessage.EMPLOYEE_PLANNING),
+          employee.getName());
+    }
+  }
+
   public BigDecimal computeWorkingDaysNumber(
       PayrollPreparation payrollPreparation, List<PayrollLeave> payrollLeaveList) {
     LocalDate fromDate = payrollPreparation.getPeriod().getFromDate();
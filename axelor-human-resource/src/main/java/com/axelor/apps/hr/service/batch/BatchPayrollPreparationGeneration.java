@@ -34,6 +34,7 @@ import com.axelor.apps.hr.db.repo.EmploymentContractRepository;
 import com.axelor.apps.hr.db.repo.HrBatchRepository;
 import com.axelor.apps.hr.db.repo.PayrollPreparationRepository;
 import com.axelor.apps.hr.exception.HumanResourceExceptionMessage;
+import com.axelor.apps.hr.service.PayrollPreparationPeriodIndex;
 import com.axelor.apps.hr.service.PayrollPreparationService;
 import com.axelor.db.JPA;
 import com.axelor.i18n.I18n;
@@ -58,6 +59,7 @@ public class BatchPayrollPreparationGeneration extends BatchStrategy {
   protected int total;
   protected HrBatch hrBatch;
   protected Company company;
+  protected PayrollPreparationPeriodIndex periodIndex;
 
   protected PayrollPreparationService payrollPreparationService;
 
@@ -96,6 +98,7 @@ public class BatchPayrollPreparationGeneration extends BatchStrategy {
     if (hrBatch.getCompany() != null) {
       company = companyRepository.find(hrBatch.getCompany().getId());
     }
+    periodIndex = payrollPreparationService.createPeriodIndex(hrBatch.getPeriod(), company);
     checkPoint();
   }
 
@@ -176,17 +179,7 @@ public class BatchPayrollPreparationGeneration extends BatchStrategy {
     if (employee == null || EmployeeHRRepository.isEmployeeFormerNewOrArchived(employee)) {
       return;
     }
-    String filter = "self.period = ?1 AND self.employee = ?2";
-    String companyFilter = filter + " AND self.company = ?3";
-
-    List<PayrollPreparation> payrollPreparationList =
-        payrollPreparationRepository
-            .all()
-            .filter(
-                (company != null) ? companyFilter : filter, hrBatch.getPeriod(), employee, company)
-            .fetch();
-    log.debug("list : " + payrollPreparationList);
-    if (!payrollPreparationList.isEmpty()) {
+    if (hasPayrollPreparation(employee)) {
       throw new AxelorException(
           employee,
           TraceBackRepository.CATEGORY_NO_UNIQUE_KEY,
@@ -207,11 +200,29 @@ public class BatchPayrollPreparationGeneration extends BatchStrategy {
     payrollPreparation.setEmploymentContract(employee.getMainEmploymentContract());
     payrollPreparation.setPeriod(period);
 
-    payrollPreparationService.fillInPayrollPreparation(payrollPreparation);
+    payrollPreparationService.fillInPayrollPreparation(payrollPreparation, periodIndex);
     payrollPreparationRepository.save(payrollPreparation);
     updateEmployee(employee);
   }
 
+  protected boolean hasPayrollPreparation(Employee employee) {
+    if (periodIndex != null) {
+      return periodIndex.hasPayrollPreparation(employee.getId());
+    }
+
+    String filter = "self.period = ?1 AND self.employee = ?2";
+    String companyFilter = filter + " AND self.company = ?3";
+
+    List<PayrollPreparation> payrollPreparationList =
+        payrollPreparationRepository
+            .all()
+            .filter(
+                (company != null) ? companyFilter : filter, hrBatch.getPeriod(), employee, company)
+            .fetch();
+    log.debug("list : " + payrollPreparationList);
+    return !payrollPreparationList.isEmpty();
+  }
+
   @Override
   protected void stop() {
 
@@ -32,12 +32,19 @@ import com.axelor.apps.hr.db.repo.LeaveReasonRepository;
 import com.axelor.apps.hr.db.repo.LeaveRequestRepository;
 import com.axelor.apps.hr.exception.HumanResourceExceptionMessage;
 import com.axelor.apps.hr.service.publicHoliday.PublicHolidayHrService;
+import com.axelor.db.JPA;
 import com.axelor.i18n.I18n;
 import com.google.inject.Inject;
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 
 public class LeaveRequestComputeDurationServiceImpl implements LeaveRequestComputeDurationService {
 
@@ -204,14 +211,14 @@ public class LeaveRequestComputeDurationServiceImpl implements LeaveRequestCompu
           duration.add(
               BigDecimal.valueOf(computeStartDateWithSelect(fromDate, startOn, weeklyPlanning)));
 
-      LocalDate itDate = fromDate.plusDays(1);
-      while (!itDate.isEqual(toDate) && !itDate.isAfter(toDate)) {
-        duration =
-            duration.add(
-                BigDecimal.valueOf(
-                    weeklyPlanningService.getWorkingDayValueInDays(weeklyPlanning, itDate)));
-        itDate = itDate.plusDays(1);
-      }
+      duration =
+          duration.add(
+              sumDayValues(
+                  fromDate.plusDays(1),
+                  toDate.minusDays(1),
+                  date ->
+                      BigDecimal.valueOf(
+                          weeklyPlanningService.getWorkingDayValueInDays(weeklyPlanning, date))));
 
       duration =
           duration.add(BigDecimal.valueOf(computeEndDateWithSelect(toDate, endOn, weeklyPlanning)));
@@ -246,9 +253,9 @@ public class LeaveRequestComputeDurationServiceImpl implements LeaveRequestCompu
     EventsPlanning holidayPlanning = getPublicHolidayEventsPlanning(leave, employee);
     LocalDate fromDate = fromDateT.toLocalDate();
     LocalDate toDate = toDateT.toLocalDate();
+    Set<LocalDate> publicHolidaySet = getPublicHolidaySet(holidayPlanning, fromDate, toDate);
 
-    if (toDate.equals(fromDate)
-        && !publicHolidayHrService.checkPublicHolidayDay(fromDate, holidayPlanning)) {
+    if (toDate.equals(fromDate) && !publicHolidaySet.contains(fromDate)) {
       duration =
           duration.add(
               weeklyPlanningService.getWorkingDayValueInHours(
@@ -256,7 +263,7 @@ public class LeaveRequestComputeDurationServiceImpl implements LeaveRequestCompu
 
     } else {
       // First day of leave
-      if (!publicHolidayHrService.checkPublicHolidayDay(fromDate, holidayPlanning)) {
+      if (!publicHolidaySet.contains(fromDate)) {
         duration =
             duration.add(
                 weeklyPlanningService.getWorkingDayValueInHours(
@@ -265,7 +272,7 @@ public class LeaveRequestComputeDurationServiceImpl implements LeaveRequestCompu
       fromDate = fromDate.plusDays(1);
 
       // Last day of leave
-      if (!publicHolidayHrService.checkPublicHolidayDay(toDate, holidayPlanning)) {
+      if (!publicHolidaySet.contains(toDate)) {
         duration =
             duration.add(
                 weeklyPlanningService.getWorkingDayValueInHours(
@@ -273,12 +280,20 @@ public class LeaveRequestComputeDurationServiceImpl implements LeaveRequestCompu
       }
 
       // Daily leave duration of the other days between from and to date
-      for (LocalDate date = fromDate; date.isBefore(toDate); date = date.plusDays(1)) {
-        if (!publicHolidayHrService.checkPublicHolidayDay(date, holidayPlanning)) {
+      duration =
+          duration.add(
+              sumDayValues(
+                  fromDate,
+                  toDate.minusDays(1),
+                  date ->
+                      weeklyPlanningService.getWorkingDayValueInHours(
+                          weeklyPlanning, date, null, null)));
+      for (LocalDate publicHoliday : publicHolidaySet) {
+        if (!publicHoliday.isBefore(fromDate) && publicHoliday.isBefore(toDate)) {
           duration =
-              duration.add(
+              duration.subtract(
                   weeklyPlanningService.getWorkingDayValueInHours(
-                      weeklyPlanning, date, null, null));
+                      weeklyPlanning, publicHoliday, null, null));
         }
       }
     }
@@ -286,6 +301,64 @@ public class LeaveRequestComputeDurationServiceImpl implements LeaveRequestCompu
     return duration;
   }
 
+  /**
+   * Sum the value of each day between the two dates, both included. The value of each day of the
+   * week is computed once, whole weeks are then added up by multiplication.
+   *
+   * @param fromDate
+   * @param toDate
+   * @param dayValue the value of a day, must only depend on its day of the week
+   * @return the sum of the day values
+   */
+  protected BigDecimal sumDayValues(
+      LocalDate fromDate, LocalDate toDate, Function<LocalDate, BigDecimal> dayValue) {
+    if (fromDate.isAfter(toDate)) {
+      return BigDecimal.ZERO;
+    }
+    long weeks = (ChronoUnit.DAYS.between(fromDate, toDate) + 1) / DayOfWeek.values().length;
+    BigDecimal[] dayOfWeekValues = new BigDecimal[DayOfWeek.values().length];
+    BigDecimal weekValue = BigDecimal.ZERO;
+    for (int i = 0; i < dayOfWeekValues.length; i++) {
+      LocalDate date = fromDate.plusDays(i);
+      BigDecimal value = dayValue.apply(date);
+      dayOfWeekValues[date.getDayOfWeek().getValue() - 1] = value;
+      weekValue = weekValue.add(value);
+    }
+
+    BigDecimal total = weekValue.multiply(BigDecimal.valueOf(weeks));
+    LocalDate remainderDate = fromDate.plusWeeks(weeks);
+    for (LocalDate date = remainderDate; !date.isAfter(toDate); date = date.plusDays(1)) {
+      total = total.add(dayOfWeekValues[date.getDayOfWeek().getValue() - 1]);
+    }
+    return total;
+  }
+
+  /**
+   * Load the public holidays of the given planning between the two dates with a single query.
+   *
+   * @param publicHolidayPlanning can be null
+   * @param fromDate
+   * @param toDate
+   * @return the dates of the public holidays
+   */
+  protected Set<LocalDate> getPublicHolidaySet(
+      EventsPlanning publicHolidayPlanning, LocalDate fromDate, LocalDate toDate) {
+    if (publicHolidayPlanning == null || fromDate.isAfter(toDate)) {
+      return Collections.emptySet();
+    }
+    return new HashSet<>(
+        JPA.em()
+            .createQuery(
+                "SELECT self.date FROM EventsPlanningLine self "
+                    + "WHERE self.eventsPlanning.id = :eventsPlanningId "
+                    + "AND self.date BETWEEN :fromDate AND :toDate",
+                LocalDate.class)
+            .setParameter("eventsPlanningId", publicHolidayPlanning.getId())
+            .setParameter("fromDate", fromDate)
+            .setParameter("toDate", toDate)
+            .getResultList());
+  }
+
   protected WeeklyPlanning getWeeklyPlanning(LeaveRequest leave, Employee employee)
       throws AxelorException {
     WeeklyPlanning weeklyPlanning = employee.getWeeklyPlanning();
@@ -331,6 +404,12 @@ public class LeaveRequestComputeDurationServiceImpl implements LeaveRequestCompu
       itDate = leaveFrom;
     }
 
+    Set<LocalDate> publicHolidaySet =
+        getPublicHolidaySet(
+            employee.getPublicHolidayEventsPlanning(),
+            itDate,
+            leaveTo.isBefore(toDate) ? leaveTo : toDate);
+
     boolean morningHalf = false;
     boolean eveningHalf = false;
     BigDecimal daysToAdd = BigDecimal.ZERO;
@@ -357,7 +436,7 @@ public class LeaveRequestComputeDurationServiceImpl implements LeaveRequestCompu
                 weeklyPlanningService.getWorkingDayValueInDays(weeklyPlanning, itDate));
       }
 
-      if (!publicHolidayHrService.checkPublicHolidayDay(itDate, employee)) {
+      if (!publicHolidaySet.contains(itDate)) {
         leaveDays = leaveDays.add(daysToAdd);
       }
       itDate = itDate.plusDays(1);
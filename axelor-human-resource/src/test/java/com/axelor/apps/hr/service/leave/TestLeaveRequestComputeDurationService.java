@@ -0,0 +1,162 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.hr.service.leave;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.axelor.apps.base.db.EventsPlanning;
+import com.axelor.apps.base.db.WeeklyPlanning;
+import com.axelor.apps.base.service.weeklyplanning.WeeklyPlanningService;
+import com.axelor.apps.hr.db.Employee;
+import com.axelor.apps.hr.db.LeaveRequest;
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class TestLeaveRequestComputeDurationService {
+
+  private static final LocalDate MONDAY = LocalDate.of(2024, 7, 1);
+  private static final BigDecimal HOURS_PER_DAY = BigDecimal.valueOf(8);
+
+  private static LeaveRequestComputeDurationServiceImpl createService(
+      boolean hasWorkingDays, Set<LocalDate> publicHolidaySet) {
+    WeeklyPlanningService weeklyPlanningService = mock(WeeklyPlanningService.class);
+    when(weeklyPlanningService.getWorkingDayValueInHours(any(), any(), any(), any()))
+        .thenAnswer(
+            invocation ->
+                hasWorkingDays && isWeekDay(invocation.getArgument(1))
+                    ? HOURS_PER_DAY
+                    : BigDecimal.ZERO);
+    return new LeaveRequestComputeDurationServiceImpl(weeklyPlanningService, null) {
+      @Override
+      protected Set<LocalDate> getPublicHolidaySet(
+          EventsPlanning publicHolidayPlanning, LocalDate fromDate, LocalDate toDate) {
+        return publicHolidaySet.stream()
+            .filter(date -> !date.isBefore(fromDate) && !date.isAfter(toDate))
+            .collect(Collectors.toSet());
+      }
+    };
+  }
+
+  private static boolean isWeekDay(LocalDate date) {
+    return date.getDayOfWeek() != DayOfWeek.SATURDAY && date.getDayOfWeek() != DayOfWeek.SUNDAY;
+  }
+
+  private static BigDecimal sumWeekDays(LocalDate fromDate, LocalDate toDate) {
+    return createService(true, Set.of())
+        .sumDayValues(fromDate, toDate, date -> isWeekDay(date) ? BigDecimal.ONE : BigDecimal.ZERO);
+  }
+
+  private static BigDecimal computeDurationInHours(
+      boolean hasWorkingDays, Set<LocalDate> publicHolidaySet, LocalDate fromDate, LocalDate toDate)
+      throws Exception {
+    Employee employee = new Employee();
+    employee.setWeeklyPlanning(new WeeklyPlanning());
+    employee.setPublicHolidayEventsPlanning(new EventsPlanning());
+    return createService(hasWorkingDays, publicHolidaySet)
+        .computeDurationInHours(
+            new LeaveRequest(),
+            employee,
+            LocalDateTime.of(fromDate, LocalTime.of(8, 0)),
+            LocalDateTime.of(toDate, LocalTime.of(17, 0)));
+  }
+
+  @Test
+  void testSumDayValuesShorterThanAWeek() {
+    Assertions.assertEquals(
+        BigDecimal.valueOf(3), sumWeekDays(MONDAY.plusDays(2), MONDAY.plusDays(5)));
+  }
+
+  @Test
+  void testSumDayValuesSeveralWeeks() {
+    Assertions.assertEquals(
+        BigDecimal.valueOf(12), sumWeekDays(MONDAY.plusDays(2), MONDAY.plusDays(17)));
+  }
+
+  @Test
+  void testSumDayValuesEmptyRange() {
+    Assertions.assertEquals(BigDecimal.ZERO, sumWeekDays(MONDAY.plusDays(1), MONDAY));
+  }
+
+  @Test
+  void testSumDayValuesComputesEachDayOfWeekOnce() {
+    int[] callCount = {0};
+    createService(true, Set.of())
+        .sumDayValues(
+            MONDAY,
+            MONDAY.plusYears(1),
+            date -> {
+              callCount[0]++;
+              return BigDecimal.ONE;
+            });
+    Assertions.assertEquals(DayOfWeek.values().length, callCount[0]);
+  }
+
+  @Test
+  void testSumDayValuesWithoutWorkingDay() {
+    Assertions.assertEquals(
+        BigDecimal.ZERO,
+        createService(true, Set.of())
+            .sumDayValues(MONDAY, MONDAY.plusWeeks(3), date -> BigDecimal.ZERO));
+  }
+
+  @Test
+  void testComputeDurationInHoursHolidayOnANonWorkingDay() throws Exception {
+    Assertions.assertEquals(
+        HOURS_PER_DAY.multiply(BigDecimal.valueOf(10)),
+        computeDurationInHours(true, Set.of(MONDAY.plusDays(5)), MONDAY, MONDAY.plusDays(11)));
+  }
+
+  @Test
+  void testComputeDurationInHoursHolidayOnAWorkingDay() throws Exception {
+    Assertions.assertEquals(
+        HOURS_PER_DAY.multiply(BigDecimal.valueOf(9)),
+        computeDurationInHours(true, Set.of(MONDAY.plusDays(2)), MONDAY, MONDAY.plusDays(11)));
+  }
+
+  @Test
+  void testComputeDurationInHoursHolidayOnTheFirstDay() throws Exception {
+    Assertions.assertEquals(
+        HOURS_PER_DAY.multiply(BigDecimal.valueOf(9)),
+        computeDurationInHours(true, Set.of(MONDAY), MONDAY, MONDAY.plusDays(11)));
+  }
+
+  @Test
+  void testComputeDurationInHoursShorterThanAWeek() throws Exception {
+    Assertions.assertEquals(
+        HOURS_PER_DAY.multiply(BigDecimal.valueOf(2)),
+        computeDurationInHours(
+            true, Set.of(MONDAY.plusDays(2)), MONDAY.plusDays(1), MONDAY.plusDays(3)));
+  }
+
+  @Test
+  void testComputeDurationInHoursWithoutWorkingDay() throws Exception {
+    Assertions.assertEquals(
+        BigDecimal.ZERO,
+        computeDurationInHours(false, Set.of(MONDAY.plusDays(2)), MONDAY, MONDAY.plusDays(11)));
+  }
+}
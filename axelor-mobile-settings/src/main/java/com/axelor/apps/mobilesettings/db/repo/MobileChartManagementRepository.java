@@ -0,0 +1,40 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.mobilesettings.db.repo;
+
+import com.axelor.apps.mobilesettings.db.MobileChart;
+import com.axelor.apps.mobilesettings.service.MobileChartCacheService;
+import com.axelor.inject.Beans;
+
+public class MobileChartManagementRepository extends MobileChartRepository {
+
+  @Override
+  public MobileChart save(MobileChart mobileChart) {
+    mobileChart = super.save(mobileChart);
+    Beans.get(MobileChartCacheService.class).invalidate(mobileChart.getId());
+    return mobileChart;
+  }
+
+  @Override
+  public void remove(MobileChart mobileChart) {
+    Long mobileChartId = mobileChart.getId();
+    super.remove(mobileChart);
+    Beans.get(MobileChartCacheService.class).invalidate(mobileChartId);
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.mobilesettings.job;
+
+import com.axelor.apps.base.AxelorException;
+import com.axelor.apps.base.service.exception.TraceBackService;
+import com.axelor.apps.mobilesettings.db.MobileChart;
+import com.axelor.apps.mobilesettings.db.repo.MobileChartRepository;
+import com.axelor.apps.mobilesettings.service.MobileChartService;
+import com.google.inject.Inject;
+import java.util.List;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+
+/** Compute in advance the result of the custom charts which are flagged to be precomputed. */
+public class MobileChartPrecomputeJob implements Job {
+
+  @Inject protected MobileChartRepository mobileChartRepository;
+  @Inject protected MobileChartService mobileChartService;
+
+  @Override
+  public void execute(JobExecutionContext context) throws JobExecutionException {
+    List<MobileChart> mobileChartList =
+        mobileChartRepository
+            .all()
+            .filter(
+                "self.isCustomChart = true AND self.isPrecomputed = true "
+                    + "AND self.cacheDuration > 0")
+            .fetch();
+
+    for (MobileChart mobileChart : mobileChartList) {
+      try {
+        mobileChartService.refreshValueList(mobileChart);
+      } catch (AxelorException e) {
+        TraceBackService.trace(e);
+      }
+    }
+  }
+}
@@ -19,8 +19,12 @@
 package com.axelor.apps.mobilesettings.module;
 
 import com.axelor.app.AxelorModule;
+import com.axelor.apps.mobilesettings.db.repo.MobileChartManagementRepository;
+import com.axelor.apps.mobilesettings.db.repo.MobileChartRepository;
 import com.axelor.apps.mobilesettings.service.AppMobileSettingsService;
 import com.axelor.apps.mobilesettings.service.AppMobileSettingsServiceImpl;
+import com.axelor.apps.mobilesettings.service.MobileChartCacheService;
+import com.axelor.apps.mobilesettings.service.MobileChartCacheServiceImpl;
 import com.axelor.apps.mobilesettings.service.MobileChartResponseComputeService;
 import com.axelor.apps.mobilesettings.service.MobileChartResponseComputeServiceImpl;
 import com.axelor.apps.mobilesettings.service.MobileChartService;
@@ -40,6 +44,8 @@ public class MobileSettingsModule extends AxelorModule {
   protected void configure() {
     bind(AppMobileSettingsService.class).to(AppMobileSettingsServiceImpl.class);
     bind(MobileChartService.class).to(MobileChartServiceImpl.class);
+    bind(MobileChartCacheService.class).to(MobileChartCacheServiceImpl.class);
+    bind(MobileChartRepository.class).to(MobileChartManagementRepository.class);
     bind(MobileChartResponseComputeService.class).to(MobileChartResponseComputeServiceImpl.class);
     bind(MobileDashboardResponseComputeService.class)
         .to(MobileDashboardResponseComputeServiceImpl.class);
@@ -20,6 +20,7 @@ package com.axelor.apps.mobilesettings.rest;
 
 import com.axelor.apps.base.AxelorException;
 import com.axelor.apps.mobilesettings.db.MobileChart;
+import com.axelor.apps.mobilesettings.rest.dto.MobileChartResponse;
 import com.axelor.apps.mobilesettings.service.MobileChartResponseComputeService;
 import com.axelor.apps.mobilesettings.translation.MobileSettingsTranslation;
 import com.axelor.i18n.I18n;
@@ -34,7 +35,10 @@ import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 
 @Path("/aos/mobilechart")
@@ -47,15 +51,31 @@ public class MobileChartRestController {
   @Path("/{mobileChartId}")
   @GET
   @HttpExceptionHandler
-  public Response getMobileChart(@PathParam("mobileChartId") Long mobileChartId)
+  public Response getMobileChart(
+      @PathParam("mobileChartId") Long mobileChartId, @Context Request request)
       throws AxelorException {
     new SecurityCheck().readAccess(MobileChart.class, mobileChartId).check();
     MobileChart mobileChart =
         ObjectFinder.find(MobileChart.class, mobileChartId, ObjectFinder.NO_VERSION);
 
-    return ResponseConstructor.build(
-        Response.Status.OK,
-        I18n.get(MobileSettingsTranslation.QUERY_RESPONSE_CHART),
-        Beans.get(MobileChartResponseComputeService.class).computeMobileChartResponse(mobileChart));
+    MobileChartResponseComputeService mobileChartResponseComputeService =
+        Beans.get(MobileChartResponseComputeService.class);
+    MobileChartResponse mobileChartResponse =
+        mobileChartResponseComputeService.computeMobileChartResponse(mobileChart);
+    EntityTag eTag =
+        new EntityTag(mobileChartResponseComputeService.computeETag(mobileChartResponse));
+
+    Response.ResponseBuilder notModifiedResponse = request.evaluatePreconditions(eTag);
+    if (notModifiedResponse != null) {
+      return notModifiedResponse.tag(eTag).build();
+    }
+
+    return Response.fromResponse(
+            ResponseConstructor.build(
+                Response.Status.OK,
+                I18n.get(MobileSettingsTranslation.QUERY_RESPONSE_CHART),
+                mobileChartResponse))
+        .tag(eTag)
+        .build();
   }
 }
@@ -0,0 +1,47 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.mobilesettings.service;
+
+import com.axelor.apps.base.AxelorException;
+import com.axelor.apps.mobilesettings.db.MobileChart;
+import com.axelor.apps.mobilesettings.rest.dto.MobileChartValueResponse;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+public interface MobileChartCacheService {
+
+  /**
+   * Return the cached value list of the given chart for the given cache key, computing it with
+   * the given loader if it is missing or older than the cache duration of the chart.
+   */
+  List<MobileChartValueResponse> getValueList(
+      MobileChart mobileChart, String cacheKey, Callable<List<MobileChartValueResponse>> loader)
+      throws AxelorException;
+
+  /** Replace the cached value list of the given chart for the given cache key. */
+  void putValueList(
+      MobileChart mobileChart, String cacheKey, List<MobileChartValueResponse> valueList);
+
+  /** Remove every cached value list of the given chart. */
+  void invalidate(Long mobileChartId);
+
+  void recordQueryTime(Long mobileChartId, long durationInMs);
+
+  MobileChartCacheStatistics getStatistics(Long mobileChartId);
+}
@@ -0,0 +1,122 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.mobilesettings.service;
+
+import com.axelor.apps.base.AxelorException;
+import com.axelor.apps.base.db.repo.TraceBackRepository;
+import com.axelor.apps.mobilesettings.db.MobileChart;
+import com.axelor.apps.mobilesettings.rest.dto.MobileChartValueResponse;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.inject.Singleton;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+@Singleton
+public class MobileChartCacheServiceImpl implements MobileChartCacheService {
+
+  protected static final int CACHE_MAXIMUM_SIZE = 1000;
+
+  protected final Cache<String, CachedValueList> cache =
+      CacheBuilder.newBuilder().maximumSize(CACHE_MAXIMUM_SIZE).build();
+
+  protected final Map<Long, MobileChartCacheStatistics> statisticsMap = new ConcurrentHashMap<>();
+
+  @Override
+  public List<MobileChartValueResponse> getValueList(
+      MobileChart mobileChart, String cacheKey, Callable<List<MobileChartValueResponse>> loader)
+      throws AxelorException {
+    MobileChartCacheStatistics statistics = getStatistics(mobileChart.getId());
+    long maxAge = getCacheDuration(mobileChart) * 1000L;
+
+    CachedValueList cachedValueList = cache.getIfPresent(cacheKey);
+    if (cachedValueList != null && cachedValueList.isExpired(maxAge)) {
+      cache.asMap().remove(cacheKey, cachedValueList);
+    }
+
+    try {
+      boolean[] loaded = {false};
+      cachedValueList =
+          cache.get(
+              cacheKey,
+              () -> {
+                loaded[0] = true;
+                return new CachedValueList(mobileChart.getId(), loader.call());
+              });
+      if (loaded[0]) {
+        statistics.recordMiss();
+      } else {
+        statistics.recordHit();
+      }
+      return cachedValueList.valueList;
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof AxelorException) {
+        throw (AxelorException) e.getCause();
+      }
+      throw new AxelorException(e.getCause(), TraceBackRepository.CATEGORY_CONFIGURATION_ERROR);
+    }
+  }
+
+  @Override
+  public void putValueList(
+      MobileChart mobileChart, String cacheKey, List<MobileChartValueResponse> valueList) {
+    cache.put(cacheKey, new CachedValueList(mobileChart.getId(), valueList));
+  }
+
+  @Override
+  public void invalidate(Long mobileChartId) {
+    cache
+        .asMap()
+        .values()
+        .removeIf(cachedValueList -> cachedValueList.chartId.equals(mobileChartId));
+  }
+
+  @Override
+  public void recordQueryTime(Long mobileChartId, long durationInMs) {
+    getStatistics(mobileChartId).recordQueryTime(durationInMs);
+  }
+
+  @Override
+  public MobileChartCacheStatistics getStatistics(Long mobileChartId) {
+    return statisticsMap.computeIfAbsent(mobileChartId, id -> new MobileChartCacheStatistics());
+  }
+
+  protected int getCacheDuration(MobileChart mobileChart) {
+    Integer cacheDuration = mobileChart.getCacheDuration();
+    return cacheDuration != null ? cacheDuration : 0;
+  }
+
+  protected static class CachedValueList {
+    protected final Long chartId;
+    protected final List<MobileChartValueResponse> valueList;
+    protected final long computedAt = System.currentTimeMillis();
+
+    protected CachedValueList(Long chartId, List<MobileChartValueResponse> valueList) {
+      this.chartId = chartId;
+      this.valueList = List.copyOf(valueList);
+    }
+
+    protected boolean isExpired(long maxAge) {
+      return System.currentTimeMillis() - computedAt >= maxAge;
+    }
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.mobilesettings.service;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class MobileChartCacheStatistics {
+  protected final LongAdder hitCount = new LongAdder();
+  protected final LongAdder missCount = new LongAdder();
+  protected final LongAdder queryCount = new LongAdder();
+  protected final LongAdder totalQueryTime = new LongAdder();
+  protected volatile long lastQueryTime;
+
+  public void recordHit() {
+    hitCount.increment();
+  }
+
+  public void recordMiss() {
+    missCount.increment();
+  }
+
+  public void recordQueryTime(long durationInMs) {
+    queryCount.increment();
+    totalQueryTime.add(durationInMs);
+    lastQueryTime = durationInMs;
+  }
+
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  public long getQueryCount() {
+    return queryCount.sum();
+  }
+
+  public long getLastQueryTime() {
+    return lastQueryTime;
+  }
+
+  public double getHitRate() {
+    long hits = getHitCount();
+    long total = hits + getMissCount();
+    return total == 0 ? 0 : (double) hits / total;
+  }
+
+  public double getAverageQueryTime() {
+    long count = getQueryCount();
+    return count == 0 ? 0 : (double) totalQueryTime.sum() / count;
+  }
+}
@@ -24,4 +24,7 @@ import com.axelor.apps.mobilesettings.rest.dto.MobileChartResponse;
 
 public interface MobileChartResponseComputeService {
   MobileChartResponse computeMobileChartResponse(MobileChart mobileChart) throws AxelorException;
+
+  /** Compute an entity tag identifying the content of the given chart response. */
+  String computeETag(MobileChartResponse mobileChartResponse);
 }
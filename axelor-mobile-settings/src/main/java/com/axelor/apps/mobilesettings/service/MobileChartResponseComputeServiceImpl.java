@@ -21,8 +21,13 @@ package com.axelor.apps.mobilesettings.service;
 import com.axelor.apps.base.AxelorException;
 import com.axelor.apps.mobilesettings.db.MobileChart;
 import com.axelor.apps.mobilesettings.rest.dto.MobileChartResponse;
+import com.axelor.apps.mobilesettings.rest.dto.MobileChartValueResponse;
 import com.axelor.meta.db.MetaAction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.google.inject.Inject;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
 
 public class MobileChartResponseComputeServiceImpl implements MobileChartResponseComputeService {
   protected MobileChartService mobileChartService;
@@ -44,4 +49,25 @@ public class MobileChartResponseComputeServiceImpl implements MobileChartRespons
       return new MobileChartResponse(mobileChart, mobileChart.getName(), metaActionName);
     }
   }
+
+  @Override
+  public String computeETag(MobileChartResponse mobileChartResponse) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    putString(hasher, mobileChartResponse.getChartId());
+    putString(hasher, mobileChartResponse.getVersion());
+    putString(hasher, mobileChartResponse.getChartName());
+    putString(hasher, mobileChartResponse.getChartType());
+    putString(hasher, mobileChartResponse.getMetaActionName());
+    if (mobileChartResponse.getValueList() != null) {
+      for (MobileChartValueResponse valueResponse : mobileChartResponse.getValueList()) {
+        putString(hasher, valueResponse.getLabel());
+        putString(hasher, valueResponse.getValue());
+      }
+    }
+    return hasher.hash().toString();
+  }
+
+  protected void putString(Hasher hasher, Object value) {
+    hasher.putString(Objects.toString(value), StandardCharsets.UTF_8).putChar('\u0000');
+  }
 }
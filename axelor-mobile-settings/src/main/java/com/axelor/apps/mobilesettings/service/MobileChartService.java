@@ -27,4 +27,10 @@ public interface MobileChartService {
   List<MobileChartValueResponse> getValueList(MobileChart mobileChart) throws AxelorException;
 
   String getQueryResponse(MobileChart mobileChart);
+
+  /**
+   * Run the query of the chart and store its result in the cache, so that the next requests do
+   * not have to run it. Charts whose query depends on the current user are ignored.
+   */
+  void refreshValueList(MobileChart mobileChart) throws AxelorException;
 }
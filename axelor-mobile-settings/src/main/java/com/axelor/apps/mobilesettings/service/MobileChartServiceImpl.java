@@ -22,20 +22,77 @@ import com.axelor.apps.base.AxelorException;
 import com.axelor.apps.base.db.repo.TraceBackRepository;
 import com.axelor.apps.mobilesettings.db.MobileChart;
 import com.axelor.apps.mobilesettings.rest.dto.MobileChartValueResponse;
+import com.axelor.auth.AuthUtils;
+import com.axelor.auth.db.User;
 import com.axelor.db.JPA;
 import com.axelor.i18n.I18n;
+import com.google.inject.Inject;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import javax.persistence.Query;
 import org.apache.commons.collections.CollectionUtils;
 
 public class MobileChartServiceImpl implements MobileChartService {
 
+  protected static final String USER_PARAM = "__user__";
+
+  protected MobileChartCacheService mobileChartCacheService;
+
+  @Inject
+  public MobileChartServiceImpl(MobileChartCacheService mobileChartCacheService) {
+    this.mobileChartCacheService = mobileChartCacheService;
+  }
+
   @Override
   public List<MobileChartValueResponse> getValueList(MobileChart mobileChart)
       throws AxelorException {
+    if (!isCacheable(mobileChart)) {
+      return computeValueList(mobileChart);
+    }
+
+    return mobileChartCacheService.getValueList(
+        mobileChart, getCacheKey(mobileChart), () -> computeValueList(mobileChart));
+  }
+
+  @Override
+  public void refreshValueList(MobileChart mobileChart) throws AxelorException {
+    if (!isCacheable(mobileChart) || isUserDependent(mobileChart)) {
+      return;
+    }
+
+    mobileChartCacheService.putValueList(
+        mobileChart, getCacheKey(mobileChart), computeValueList(mobileChart));
+  }
+
+  protected boolean isCacheable(MobileChart mobileChart) {
+    return mobileChart != null
+        && mobileChart.getId() != null
+        && mobileChart.getCacheDuration() != null
+        && mobileChart.getCacheDuration() > 0;
+  }
+
+  protected boolean isUserDependent(MobileChart mobileChart) {
+    return mobileChart.getQuery() != null && mobileChart.getQuery().contains(":" + USER_PARAM);
+  }
+
+  /**
+   * The version is part of the key so that a modification of the chart is taken into account
+   * immediately. The user is only part of the key when the query depends on it, so that every
+   * user shares the same result otherwise.
+   */
+  protected String getCacheKey(MobileChart mobileChart) {
+    String cacheKey = mobileChart.getId() + ":" + mobileChart.getVersion();
+    if (isUserDependent(mobileChart)) {
+      cacheKey += ":" + Optional.ofNullable(AuthUtils.getUser()).map(User::getId).orElse(0L);
+    }
+    return cacheKey;
+  }
+
+  protected List<MobileChartValueResponse> computeValueList(MobileChart mobileChart)
+      throws AxelorException {
 
     List<Object> resultList = runQuery(mobileChart);
     if (CollectionUtils.isEmpty(resultList)) {
@@ -101,15 +158,28 @@ public class MobileChartServiceImpl implements MobileChartService {
     }
 
     List<Object> result;
+    long startTime = System.currentTimeMillis();
 
     try {
       Query query = JPA.em().createQuery(mobileChart.getQuery());
+      if (isUserDependent(mobileChart)) {
+        query.setParameter(USER_PARAM, AuthUtils.getUser());
+      }
+      Integer maxRowNumber = mobileChart.getMaxRowNumber();
+      if (maxRowNumber != null && maxRowNumber > 0) {
+        query.setMaxResults(maxRowNumber);
+      }
       result = query.getResultList();
     } catch (Exception e) {
       throw new AxelorException(
           TraceBackRepository.CATEGORY_CONFIGURATION_ERROR,
           I18n.get("There is an error with the query : \n") + e.getMessage());
     }
+
+    if (mobileChart.getId() != null) {
+      mobileChartCacheService.recordQueryTime(
+          mobileChart.getId(), System.currentTimeMillis() - startTime);
+    }
     return result;
   }
 
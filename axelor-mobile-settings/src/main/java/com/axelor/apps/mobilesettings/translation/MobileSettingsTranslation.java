@@ -30,4 +30,6 @@ public final class MobileSettingsTranslation {
       "Response of the query of the chart" /*)*/;
   public static final String NO_ACCESS_TO_RECORD = /*$$(*/
       "You do not have access to this record" /*)*/;
+  public static final String MOBILE_CHART_CACHE_STATISTICS = /*$$(*/
+      "Hits: %d, misses: %d, hit rate: %.1f %%, query time: %.0f ms average, %d ms last" /*)*/;
 }
@@ -20,7 +20,11 @@ package com.axelor.apps.mobilesettings.web;
 
 import com.axelor.apps.base.AxelorException;
 import com.axelor.apps.mobilesettings.db.MobileChart;
+import com.axelor.apps.mobilesettings.service.MobileChartCacheService;
+import com.axelor.apps.mobilesettings.service.MobileChartCacheStatistics;
 import com.axelor.apps.mobilesettings.service.MobileChartService;
+import com.axelor.apps.mobilesettings.translation.MobileSettingsTranslation;
+import com.axelor.i18n.I18n;
 import com.axelor.inject.Beans;
 import com.axelor.rpc.ActionRequest;
 import com.axelor.rpc.ActionResponse;
@@ -32,4 +36,23 @@ public class MobileChartController {
     response.setValue(
         "$response", Beans.get(MobileChartService.class).getQueryResponse(mobileChart));
   }
+
+  public void setCacheStatistics(ActionRequest request, ActionResponse response) {
+    MobileChart mobileChart = request.getContext().asType(MobileChart.class);
+    if (mobileChart.getId() == null) {
+      return;
+    }
+
+    MobileChartCacheStatistics statistics =
+        Beans.get(MobileChartCacheService.class).getStatistics(mobileChart.getId());
+    response.setValue(
+        "$cacheStatistics",
+        String.format(
+            I18n.get(MobileSettingsTranslation.MOBILE_CHART_CACHE_STATISTICS),
+            statistics.getHitCount(),
+            statistics.getMissCount(),
+            statistics.getHitRate() * 100,
+            statistics.getAverageQueryTime(),
+            statistics.getLastQueryTime()));
+  }
 }
@@ -18,6 +18,9 @@
  */
 package com.axelor.apps.production.service.batch;
 
+import com.axelor.app.AppSettings;
+import com.axelor.apps.base.AxelorException;
+import com.axelor.apps.base.callable.AsyncJobService;
 import com.axelor.apps.base.db.Company;
 import com.axelor.apps.base.db.repo.ExceptionOriginRepository;
 import com.axelor.apps.base.exceptions.BaseExceptionMessage;
@@ -36,20 +39,32 @@ import com.axelor.i18n.I18n;
 import com.axelor.inject.Beans;
 import com.google.inject.Inject;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 public class BatchComputeWorkInProgressValuation extends BatchStrategy {
 
+  protected static final String WORK_IN_PROGRESS_VALUATION_THREAD_COUNT =
+      "aos.production.work-in-progress-valuation.thread-count";
+
   protected CostSheetService costSheetService;
   protected ManufOrderRepository manufOrderRepository;
+  protected AsyncJobService asyncJobService;
 
   @Inject
   public BatchComputeWorkInProgressValuation(
-      CostSheetService costSheetService, ManufOrderRepository manufOrderRepository) {
+      CostSheetService costSheetService,
+      ManufOrderRepository manufOrderRepository,
+      AsyncJobService asyncJobService) {
     this.costSheetService = costSheetService;
     this.manufOrderRepository = manufOrderRepository;
+    this.asyncJobService = asyncJobService;
   }
 
   @Override
@@ -68,7 +83,8 @@ public class BatchComputeWorkInProgressValuation extends BatchStrategy {
     String domain =
         "(self.statusSelect = :statusSelectInProgress or self.statusSelect = :statusSelectStandBy "
             + "or (self.statusSelect = :statusSelectFinished "
-            + "AND self.realEndDateT BETWEEN :valuationDateT AND :todayDateT))";
+            + "AND self.realEndDateT BETWEEN :valuationDateT AND :todayDateT))"
+            + " and self.id > :lastId";
     bindValues.put("statusSelectInProgress", ManufOrderRepository.STATUS_IN_PROGRESS);
     bindValues.put("statusSelectStandBy", ManufOrderRepository.STATUS_STANDBY);
     bindValues.put("statusSelectFinished", ManufOrderRepository.STATUS_FINISHED);
@@ -84,28 +100,108 @@ public class BatchComputeWorkInProgressValuation extends BatchStrategy {
       bindValues.put("stockLocationId", workshopStockLocation.getId());
     }
 
-    Query<ManufOrder> manufOrderQuery = manufOrderRepository.all().filter(domain).bind(bindValues);
-
-    int offset = 0;
-
-    while (!(manufOrderList = manufOrderQuery.order("id").fetch(getFetchLimit(), offset))
-        .isEmpty()) {
-      for (ManufOrder manufOrder : manufOrderList) {
-        ++offset;
-        try {
-          costSheetService.computeCostPrice(
-              manufOrder, CostSheetRepository.CALCULATION_WORK_IN_PROGRESS, valuationDate);
-          incrementDone();
-        } catch (Exception e) {
-          incrementAnomaly();
-          TraceBackService.trace(e, ExceptionOriginRepository.COST_SHEET, batch.getId());
+    Query<ManufOrder> manufOrderQuery =
+        manufOrderRepository.all().filter(domain).bind(bindValues).order("id");
+
+    int threadCount = getThreadCount();
+    ExecutorService executorService =
+        threadCount > 1
+            ? asyncJobService.createWorkerExecutor("work-in-progress-valuation", threadCount)
+            : null;
+    long lastId = 0L;
+
+    try {
+      while (!(manufOrderList = manufOrderQuery.bind("lastId", lastId).fetch(getFetchLimit()))
+          .isEmpty()) {
+        lastId = manufOrderList.get(manufOrderList.size() - 1).getId();
+        if (executorService == null) {
+          for (ManufOrder manufOrder : manufOrderList) {
+            try {
+              computeValuation(manufOrder, valuationDate, costSheetService);
+              incrementDone();
+            } catch (Exception e) {
+              incrementAnomaly();
+              TraceBackService.trace(e, ExceptionOriginRepository.COST_SHEET, batch.getId());
+            }
+          }
+        } else if (!computeValuations(executorService, manufOrderList, valuationDate)) {
+          break;
         }
+        JPA.clear();
+        findBatch();
+      }
+    } finally {
+      if (executorService != null) {
+        executorService.shutdownNow();
       }
-      JPA.clear();
-      findBatch();
     }
   }
 
+  /**
+   * Compute the valuation of a page of manufacturing orders on the executor, each order in its own
+   * thread and transaction.
+   *
+   * @return false if the batch has been interrupted
+   */
+  protected boolean computeValuations(
+      ExecutorService executorService, List<ManufOrder> manufOrderList, LocalDate valuationDate) {
+    List<Future<Void>> futureList = new ArrayList<>();
+    for (ManufOrder manufOrder : manufOrderList) {
+      futureList.add(
+          executorService.submit(createValuationTask(manufOrder.getId(), valuationDate)));
+    }
+    for (Future<Void> future : futureList) {
+      try {
+        future.get();
+        incrementDone();
+      } catch (ExecutionException e) {
+        incrementAnomaly();
+        Throwable cause = e.getCause();
+        TraceBackService.trace(
+            cause instanceof Exception ? (Exception) cause : e,
+            ExceptionOriginRepository.COST_SHEET,
+            batch.getId());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        futureList.forEach(remainingFuture -> remainingFuture.cancel(true));
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Create a task computing the valuation of a manufacturing order in its own thread, with its own
+   * cost sheet service since the latter holds the cost sheet being computed.
+   */
+  protected Callable<Void> createValuationTask(Long manufOrderId, LocalDate valuationDate) {
+    return asyncJobService.withCurrentContext(
+        () -> {
+          computeValuation(
+              manufOrderRepository.find(manufOrderId),
+              valuationDate,
+              Beans.get(CostSheetService.class));
+          return null;
+        });
+  }
+
+  protected void computeValuation(
+      ManufOrder manufOrder, LocalDate valuationDate, CostSheetService costSheetService)
+      throws AxelorException {
+    long startTime = System.currentTimeMillis();
+    costSheetService.computeCostPrice(
+        manufOrder, CostSheetRepository.CALCULATION_WORK_IN_PROGRESS, valuationDate);
+    LOG.debug(
+        "Work in progress valuation of {} computed in {} ms",
+        manufOrder.getManufOrderSeq(),
+        System.currentTimeMillis() - startTime);
+  }
+
+  /** Number of threads computing the valuations, 1 to compute them sequentially. */
+  protected int getThreadCount() {
+    return AppSettings.get().getInt(WORK_IN_PROGRESS_VALUATION_THREAD_COUNT, 1);
+  }
+
   @Override
   protected void stop() {
 
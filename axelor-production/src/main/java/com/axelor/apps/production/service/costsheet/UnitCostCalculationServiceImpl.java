@@ -18,7 +18,9 @@
  */
 package com.axelor.apps.production.service.costsheet;
 
+import com.axelor.app.AppSettings;
 import com.axelor.apps.base.AxelorException;
+import com.axelor.apps.base.callable.AsyncJobService;
 import com.axelor.apps.base.db.Company;
 import com.axelor.apps.base.db.Currency;
 import com.axelor.apps.base.db.Product;
@@ -54,8 +56,6 @@ import com.axelor.meta.db.MetaField;
 import com.axelor.meta.db.MetaFile;
 import com.axelor.utils.helpers.StringHelper;
 import com.axelor.utils.helpers.file.CsvHelper;
-import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.common.io.Files;
 import com.google.inject.Inject;
@@ -67,17 +67,24 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.invoke.MethodHandles;
 import java.math.BigDecimal;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import javax.validation.ValidationException;
 import org.apache.commons.collections.CollectionUtils;
@@ -89,6 +96,9 @@ public class UnitCostCalculationServiceImpl implements UnitCostCalculationServic
 
   private final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+  protected static final String UNIT_COST_CALCULATION_THREAD_COUNT =
+      "aos.production.unit-cost-calculation.thread-count";
+
   protected ProductRepository productRepository;
   protected UnitCostCalculationRepository unitCostCalculationRepository;
   protected UnitCostCalcLineService unitCostCalcLineService;
@@ -99,8 +109,7 @@ public class UnitCostCalculationServiceImpl implements UnitCostCalculationServic
   protected ProductCompanyService productCompanyService;
   protected AppBaseService appBaseService;
   protected BillOfMaterialService billOfMaterialService;
-
-  protected Map<Long, Integer> productMap;
+  protected AsyncJobService asyncJobService;
 
   @Inject
   public UnitCostCalculationServiceImpl(
@@ -113,7 +122,8 @@ public class UnitCostCalculationServiceImpl implements UnitCostCalculationServic
       ProductService productService,
       ProductCompanyService productCompanyService,
       AppBaseService appBaseService,
-      BillOfMaterialService billOfMaterialService) {
+      BillOfMaterialService billOfMaterialService,
+      AsyncJobService asyncJobService) {
     this.productRepository = productRepository;
     this.unitCostCalculationRepository = unitCostCalculationRepository;
     this.unitCostCalcLineService = unitCostCalcLineService;
@@ -124,6 +134,7 @@ public class UnitCostCalculationServiceImpl implements UnitCostCalculationServic
     this.productCompanyService = productCompanyService;
     this.appBaseService = appBaseService;
     this.billOfMaterialService = billOfMaterialService;
+    this.asyncJobService = asyncJobService;
   }
 
   @Override
@@ -217,10 +228,11 @@ public class UnitCostCalculationServiceImpl implements UnitCostCalculationServic
     }
 
     unitCostCalculation = unitCostCalculationRepository.find(unitCostCalculation.getId());
-    this.assignProductAndLevel(
-        this.getProductList(unitCostCalculation), this.getSingleCompany(unitCostCalculation));
+    Map<Long, Integer> productLevelMap =
+        this.computeProductLevels(
+            this.getProductList(unitCostCalculation), this.getSingleCompany(unitCostCalculation));
 
-    calculationProcess(unitCostCalculation);
+    calculationProcess(unitCostCalculation, productLevelMap);
 
     updateStatusToComputed(unitCostCalculationRepository.find(unitCostCalculation.getId()));
   }
@@ -247,27 +259,105 @@ public class UnitCostCalculationServiceImpl implements UnitCostCalculationServic
     unitCostCalculationRepository.save(unitCostCalculation);
   }
 
-  protected void calculationProcess(UnitCostCalculation unitCostCalculation)
+  /**
+   * Compute the products level by level, from the deepest components to the finished products, so
+   * that the cost of a component is computed once and available when computing its parents. The
+   * products of a same level do not depend on each other and are computed on {@link
+   * #getThreadCount()} threads.
+   */
+  protected void calculationProcess(
+      UnitCostCalculation unitCostCalculation, Map<Long, Integer> productLevelMap)
       throws AxelorException {
 
-    for (int level = this.getMaxLevel(); level >= 0; level--) {
+    TreeMap<Integer, List<Long>> levelProductMap =
+        productLevelMap.entrySet().stream()
+            .collect(
+                Collectors.groupingBy(
+                    Map.Entry::getValue,
+                    TreeMap::new,
+                    Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+    Long unitCostCalculationId = unitCostCalculation.getId();
+    int threadCount = getThreadCount();
+
+    if (threadCount <= 1) {
+      for (Map.Entry<Integer, List<Long>> levelEntry : levelProductMap.descendingMap().entrySet()) {
+        for (Long productId : levelEntry.getValue()) {
+          this.calculationProductProcess(
+              unitCostCalculationRepository.find(unitCostCalculationId),
+              productRepository.find(productId),
+              levelEntry.getKey(),
+              costSheetService);
+          JPA.clear();
+        }
+      }
+      return;
+    }
 
-      for (Product product : this.getProductList(level)) {
+    ExecutorService executorService =
+        asyncJobService.createWorkerExecutor("unit-cost-calculation", threadCount);
+    try {
+      for (Map.Entry<Integer, List<Long>> levelEntry : levelProductMap.descendingMap().entrySet()) {
+        List<Future<Void>> futureList = new ArrayList<>();
+        for (Long productId : levelEntry.getValue()) {
+          futureList.add(
+              executorService.submit(
+                  createCalculationTask(unitCostCalculationId, productId, levelEntry.getKey())));
+        }
+        waitForCalculationTasks(futureList);
+      }
+    } finally {
+      executorService.shutdownNow();
+    }
+    JPA.clear();
+  }
 
-        this.calculationProductProcess(
-            unitCostCalculationRepository.find(unitCostCalculation.getId()),
-            productRepository.find(product.getId()));
+  /**
+   * Create a task computing the cost of a product in its own thread, with its own transaction and
+   * cost sheet service since the latter holds the cost sheet being computed.
+   */
+  protected Callable<Void> createCalculationTask(
+      Long unitCostCalculationId, Long productId, int level) {
+    return asyncJobService.withCurrentContext(
+        () -> {
+          this.calculationProductProcess(
+              unitCostCalculationRepository.find(unitCostCalculationId),
+              productRepository.find(productId),
+              level,
+              Beans.get(CostSheetService.class));
+          return null;
+        });
+  }
 
-        JPA.clear();
+  protected void waitForCalculationTasks(List<Future<Void>> futureList) throws AxelorException {
+    try {
+      for (Future<Void> future : futureList) {
+        future.get();
       }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AxelorException(e, TraceBackRepository.CATEGORY_INCONSISTENCY);
+    } catch (ExecutionException e) {
+      futureList.forEach(future -> future.cancel(true));
+      if (e.getCause() instanceof AxelorException) {
+        throw (AxelorException) e.getCause();
+      }
+      throw new AxelorException(e.getCause(), TraceBackRepository.CATEGORY_INCONSISTENCY);
     }
   }
 
+  /** Number of threads computing the products of a same level, 1 to compute them sequentially. */
+  protected int getThreadCount() {
+    return AppSettings.get().getInt(UNIT_COST_CALCULATION_THREAD_COUNT, 1);
+  }
+
   @Transactional(rollbackOn = {Exception.class})
-  protected void calculationProductProcess(UnitCostCalculation unitCostCalculation, Product product)
+  protected void calculationProductProcess(
+      UnitCostCalculation unitCostCalculation,
+      Product product,
+      int level,
+      CostSheetService costSheetService)
       throws AxelorException {
 
-    int level = this.productMap.get(product.getId()).intValue();
     Company company = this.getSingleCompany(unitCostCalculation);
 
     log.debug("Unit cost price calculation for product : {}, level : {}", product.getCode(), level);
@@ -292,8 +382,9 @@ public class UnitCostCalculationServiceImpl implements UnitCostCalculationServic
     UnitCostCalcLine unitCostCalcLine =
         unitCostCalcLineService.createUnitCostCalcLine(
             product, billOfMaterial.getCompany(), level, costSheet);
-    unitCostCalculation.addUnitCostCalcLineListItem(unitCostCalcLine);
-    unitCostCalculationRepository.save(unitCostCalculation);
+    // Saved on its own so that lines computed concurrently do not update the calculation.
+    unitCostCalcLine.setUnitCostCalculation(unitCostCalculation);
+    unitCostCalcLineRepository.save(unitCostCalcLine);
   }
 
   protected Set<Product> getProductList(UnitCostCalculation unitCostCalculation)
@@ -362,76 +453,114 @@ public class UnitCostCalculationServiceImpl implements UnitCostCalculationServic
           I18n.get(ProductionExceptionMessage.UNIT_COST_CALCULATION_NO_PRODUCT_FOUND));
     }
 
-    Company company = this.getSingleCompany(unitCostCalculation);
-
-    Map<Product, Integer> productLevelMap = new HashMap<>();
-    for (Product product : productSet) {
-      productLevelMap.put(
-          product, calculateHierarchyDepth(product, company, unitCostCalculation, new HashSet<>()));
-    }
-
-    return productSet.stream()
-        .sorted(
-            Comparator.comparing(Product::getProductSubTypeSelect)
-                .reversed()
-                .thenComparing(productLevelMap::get))
-        .collect(Collectors.toCollection(LinkedHashSet::new));
-  }
-
-  public int calculateHierarchyDepth(
-      Product product,
-      Company company,
-      UnitCostCalculation unitCostCalculation,
-      Set<Product> visited)
-      throws AxelorException {
-    if (visited.contains(product)) {
-      return 0;
-    }
-    visited.add(product);
-
-    BillOfMaterial bom = billOfMaterialService.getBOM(product, company);
-    if (bom == null || ObjectUtils.isEmpty(bom.getBillOfMaterialLineList())) {
-      return 0;
-    }
-
-    int maxDepth = 0;
-    for (BillOfMaterialLine line : bom.getBillOfMaterialLineList()) {
-      Product subProduct = line.getProduct();
-      int subDepth = calculateHierarchyDepth(subProduct, company, unitCostCalculation, visited);
-      maxDepth = Math.max(maxDepth, subDepth);
-    }
-    return maxDepth + 1;
+    return productSet;
   }
 
   /**
-   * Get the list of product for a level
+   * Compute the level of each product: 0 for a product which is not a component of another
+   * selected product, otherwise the length of the longest chain of bills of materials leading to
+   * it. Each bill of materials is read once, and the levels are computed with a topological sort
+   * of the resulting graph, a cycle meaning a loop in the bills of materials.
    *
-   * @param level
-   * @return
+   * @param productSet the selected products
+   * @param company the company of the calculation, may be null
+   * @return the level of each product, by product id
    */
-  protected List<Product> getProductList(int level) {
+  protected Map<Long, Integer> computeProductLevels(Set<Product> productSet, Company company)
+      throws AxelorException {
 
-    List<Product> productList = Lists.newArrayList();
+    Set<Long> productIdSet = productSet.stream().map(Product::getId).collect(Collectors.toSet());
+    Map<Long, Set<Long>> componentMap = new LinkedHashMap<>();
+    productIdSet.forEach(productId -> componentMap.put(productId, new LinkedHashSet<>()));
 
-    for (Long productId : this.productMap.keySet()) {
+    Deque<BillOfMaterial> billOfMaterialQueue = new ArrayDeque<>();
+    for (Product product : productSet) {
+      log.debug("Add of the product : {}", product.getFullName());
+      if (hasValidBillOfMaterial(product, company)) {
+        billOfMaterialQueue.add(billOfMaterialService.getDefaultBOM(product, company));
+      }
+    }
 
-      if (this.productMap.get(productId) == level) {
-        productList.add(productRepository.find(productId));
+    Set<Long> visitedBillOfMaterialIdSet = new HashSet<>();
+    while (!billOfMaterialQueue.isEmpty()) {
+      BillOfMaterial billOfMaterial = billOfMaterialQueue.poll();
+      if (!visitedBillOfMaterialIdSet.add(billOfMaterial.getId())
+          || CollectionUtils.isEmpty(billOfMaterial.getBillOfMaterialLineList())) {
+        continue;
+      }
+      Set<Long> componentIdSet =
+          componentMap.computeIfAbsent(
+              billOfMaterial.getProduct().getId(), productId -> new LinkedHashSet<>());
+
+      for (BillOfMaterialLine billOfMaterialLine : billOfMaterial.getBillOfMaterialLineList()) {
+        Product subProduct = billOfMaterialLine.getProduct();
+        BillOfMaterial subBillOfMaterial = billOfMaterialLine.getBillOfMaterial();
+        if (subProduct == null
+            || subBillOfMaterial == null
+            || !productIdSet.contains(subProduct.getId())) {
+          continue;
+        }
+        Long subBillOfMaterialProductId = subBillOfMaterial.getProduct().getId();
+        componentIdSet.add(subBillOfMaterialProductId);
+        componentMap.computeIfAbsent(
+            subBillOfMaterialProductId, productId -> new LinkedHashSet<>());
+        billOfMaterialQueue.add(subBillOfMaterial);
+
+        if (hasValidBillOfMaterial(subProduct, company)) {
+          componentIdSet.add(subProduct.getId());
+          billOfMaterialQueue.add(billOfMaterialService.getDefaultBOM(subProduct, company));
+        }
       }
     }
 
-    return productList;
+    return computeProductLevels(componentMap);
   }
 
-  protected void assignProductAndLevel(Set<Product> productList, Company company)
+  /**
+   * Longest path from the roots of the graph, computed with Kahn's algorithm.
+   *
+   * @param componentMap the components of each product, by product id
+   * @return the level of each product, by product id
+   */
+  protected Map<Long, Integer> computeProductLevels(Map<Long, Set<Long>> componentMap)
       throws AxelorException {
 
-    productMap = Maps.newHashMap();
-
-    for (Product product : productList) {
+    Map<Long, Integer> parentCountMap = new HashMap<>();
+    componentMap.keySet().forEach(productId -> parentCountMap.put(productId, 0));
+    componentMap.values().stream()
+        .flatMap(Set::stream)
+        .forEach(productId -> parentCountMap.merge(productId, 1, Integer::sum));
+
+    Map<Long, Integer> productLevelMap = new LinkedHashMap<>();
+    Deque<Long> productIdQueue = new ArrayDeque<>();
+    parentCountMap.forEach(
+        (productId, parentCount) -> {
+          if (parentCount == 0) {
+            productIdQueue.add(productId);
+            productLevelMap.put(productId, 0);
+          }
+        });
+
+    int sortedCount = 0;
+    while (!productIdQueue.isEmpty()) {
+      Long productId = productIdQueue.poll();
+      sortedCount++;
+      int componentLevel = productLevelMap.get(productId) + 1;
+      for (Long componentId : componentMap.getOrDefault(productId, Collections.emptySet())) {
+        productLevelMap.merge(componentId, componentLevel, Math::max);
+        if (parentCountMap.merge(componentId, -1, Integer::sum) == 0) {
+          productIdQueue.add(componentId);
+        }
+      }
+    }
 
-      this.assignProductAndLevel(product, company);
+    if (sortedCount < parentCountMap.size()) {
+      throw new AxelorException(
+          TraceBackRepository.CATEGORY_CONFIGURATION_ERROR,
+          I18n.get(ProductionExceptionMessage.LOOP_IN_BILL_OF_MATERIALS));
     }
+
+    return productLevelMap;
   }
 
   protected boolean hasValidBillOfMaterial(Product product, Company company)
@@ -454,83 +583,6 @@ public class UnitCostCalculationServiceImpl implements UnitCostCalculationServic
     return false;
   }
 
-  protected void assignProductAndLevel(Product product, Company company) throws AxelorException {
-
-    log.debug("Add of the product : {}", product.getFullName());
-    this.productMap.put(product.getId(), this.getMaxLevel(product, 0));
-
-    if (hasValidBillOfMaterial(product, company)) {
-      this.assignProductLevel(billOfMaterialService.getDefaultBOM(product, company), 0, company);
-    }
-  }
-
-  protected int getMaxLevel(Product product, int level) {
-
-    if (this.productMap.containsKey(product.getId())) {
-      return Math.max(level, this.productMap.get(product.getId()));
-    }
-
-    return level;
-  }
-
-  protected int getMaxLevel() {
-
-    int maxLevel = 0;
-
-    for (int level : this.productMap.values()) {
-
-      if (level > maxLevel) {
-        maxLevel = level;
-      }
-    }
-
-    return maxLevel;
-  }
-
-  /**
-   * Update the level of Bill of materials. The highest for each product (0: product with parent, 1:
-   * product with a parent, 2: product with a parent that have a parent, ...)
-   *
-   * @param billOfMaterial
-   * @param level
-   * @param company
-   * @throws AxelorException
-   */
-  protected void assignProductLevel(BillOfMaterial billOfMaterial, int level, Company company)
-      throws AxelorException {
-
-    if (level > 50) {
-      throw new AxelorException(
-          TraceBackRepository.CATEGORY_CONFIGURATION_ERROR,
-          I18n.get(ProductionExceptionMessage.LOOP_IN_BILL_OF_MATERIALS));
-    }
-
-    Product product = billOfMaterial.getProduct();
-
-    log.debug("Add of the sub product : {} for the level : {} ", product.getFullName(), level);
-    this.productMap.put(product.getId(), this.getMaxLevel(product, level));
-
-    if (CollectionUtils.isNotEmpty(billOfMaterial.getBillOfMaterialLineList())) {
-
-      level = level + 1;
-
-      for (BillOfMaterialLine billOfMaterialLines : billOfMaterial.getBillOfMaterialLineList()) {
-
-        Product subProduct = billOfMaterialLines.getProduct();
-
-        if (this.productMap.containsKey(subProduct.getId())
-            && billOfMaterialLines.getBillOfMaterial() != null) {
-          this.assignProductLevel(billOfMaterialLines.getBillOfMaterial(), level, company);
-
-          if (hasValidBillOfMaterial(subProduct, company)) {
-            this.assignProductLevel(
-                billOfMaterialService.getDefaultBOM(subProduct, company), level, company);
-          }
-        }
-      }
-    }
-  }
-
   public void updateUnitCosts(UnitCostCalculation unitCostCalculation) throws AxelorException {
 
     for (UnitCostCalcLine unitCostCalcLine : unitCostCalculation.getUnitCostCalcLineList()) {
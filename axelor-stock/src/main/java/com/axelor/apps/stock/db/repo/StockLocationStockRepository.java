@@ -21,6 +21,7 @@ package com.axelor.apps.stock.db.repo;
 import com.axelor.apps.base.db.BarcodeTypeConfig;
 import com.axelor.apps.base.service.BarcodeGeneratorService;
 import com.axelor.apps.stock.db.StockLocation;
+import com.axelor.apps.stock.service.StockLocationClosureService;
 import com.axelor.apps.stock.service.StockLocationSaveService;
 import com.axelor.apps.stock.service.app.AppStockService;
 import com.axelor.apps.stock.utils.StockLocationUtilsService;
@@ -35,17 +36,20 @@ public class StockLocationStockRepository extends StockLocationRepository {
   protected BarcodeGeneratorService barcodeGeneratorService;
   protected StockLocationSaveService stockLocationSaveService;
   protected StockLocationUtilsService stockLocationUtilsService;
+  protected StockLocationClosureService stockLocationClosureService;
 
   @Inject
   public StockLocationStockRepository(
       AppStockService appStockService,
       BarcodeGeneratorService barcodeGeneratorService,
       StockLocationSaveService stockLocationSaveService,
-      StockLocationUtilsService stockLocationUtilsService) {
+      StockLocationUtilsService stockLocationUtilsService,
+      StockLocationClosureService stockLocationClosureService) {
     this.appStockService = appStockService;
     this.barcodeGeneratorService = barcodeGeneratorService;
     this.stockLocationSaveService = stockLocationSaveService;
     this.stockLocationUtilsService = stockLocationUtilsService;
+    this.stockLocationClosureService = stockLocationClosureService;
   }
 
   /**
@@ -80,7 +84,15 @@ public class StockLocationStockRepository extends StockLocationRepository {
       }
     }
 
-    return super.save(stockLocation);
+    stockLocation = super.save(stockLocation);
+    stockLocationClosureService.updateClosure(stockLocation);
+    return stockLocation;
+  }
+
+  @Override
+  public void remove(StockLocation stockLocation) {
+    stockLocationClosureService.removeClosure(stockLocation);
+    super.remove(stockLocation);
   }
 
   @Override
@@ -349,4 +349,16 @@ public final class StockExceptionMessage {
 
   public static final String STOCK_MOVE_MASS_NO_FROM_STOCK_LOCATION_SELECTED = /*$$(*/
       "No stock location has been selected." /*)*/;
+
+  public static final String BATCH_RECONCILE_PLANNED_QTY_REPORT = /*$$(*/
+      "Planned quantities reconciliation:" /*)*/;
+
+  public static final String BATCH_RECONCILE_PLANNED_QTY_DONE = /*$$(*/
+      "* %s stock location line(s) checked, %s corrected" /*)*/;
+
+  public static final String BATCH_REBUILD_STOCK_LOCATION_CLOSURE_REPORT = /*$$(*/
+      "Stock location hierarchy rebuild:" /*)*/;
+
+  public static final String BATCH_REBUILD_STOCK_LOCATION_CLOSURE_DONE = /*$$(*/
+      "* %s stock location(s) indexed" /*)*/;
 }
@@ -76,6 +76,8 @@ import com.axelor.apps.stock.service.StockHistoryService;
 import com.axelor.apps.stock.service.StockHistoryServiceImpl;
 import com.axelor.apps.stock.service.StockLocationAttrsService;
 import com.axelor.apps.stock.service.StockLocationAttrsServiceImpl;
+import com.axelor.apps.stock.service.StockLocationClosureService;
+import com.axelor.apps.stock.service.StockLocationClosureServiceImpl;
 import com.axelor.apps.stock.service.StockLocationDomainService;
 import com.axelor.apps.stock.service.StockLocationDomainServiceImpl;
 import com.axelor.apps.stock.service.StockLocationLineFetchService;
@@ -159,6 +161,7 @@ public class StockModule extends AxelorModule {
     bind(StockMoveService.class).to(StockMoveServiceImpl.class);
     bind(StockMoveUpdateService.class).to(StockMoveUpdateServiceImpl.class);
     bind(StockLocationService.class).to(StockLocationServiceImpl.class);
+    bind(StockLocationClosureService.class).to(StockLocationClosureServiceImpl.class);
     bind(ProductBaseRepository.class).to(ProductStockRepository.class);
     bind(PartnerProductQualityRatingService.class).to(PartnerProductQualityRatingServiceImpl.class);
     bind(LogisticalFormService.class).to(LogisticalFormServiceImpl.class);
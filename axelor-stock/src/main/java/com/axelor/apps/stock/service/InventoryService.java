@@ -26,6 +26,7 @@ import com.axelor.apps.base.db.Company;
 import com.axelor.apps.base.db.Product;
 import com.axelor.apps.base.db.ProductCategory;
 import com.axelor.apps.base.db.ProductFamily;
+import com.axelor.apps.base.db.Unit;
 import com.axelor.apps.base.db.repo.ProductRepository;
 import com.axelor.apps.base.db.repo.SequenceRepository;
 import com.axelor.apps.base.db.repo.TraceBackRepository;
@@ -48,6 +49,8 @@ import com.axelor.apps.stock.exception.StockExceptionMessage;
 import com.axelor.apps.stock.service.config.StockConfigService;
 import com.axelor.auth.AuthUtils;
 import com.axelor.common.ObjectUtils;
+import com.axelor.db.JPA;
+import com.axelor.db.Model;
 import com.axelor.db.Query;
 import com.axelor.i18n.I18n;
 import com.axelor.i18n.L10n;
@@ -66,6 +69,7 @@ import java.io.InputStream;
 import java.lang.invoke.MethodHandles;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
@@ -79,9 +83,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 import org.apache.commons.lang3.LocaleUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -107,6 +115,9 @@ public class InventoryService {
 
   static final int INVENTORY_LINE_WITHOUT_STOCK_LOCATION_DISPLAY_LIMIT = 15;
 
+  /** Number of rows or lines resolved and flushed together when importing or filling lines. */
+  protected static final int INVENTORY_LINE_CHUNK_SIZE = 500;
+
   protected InventoryLineRepository inventoryLineRepository;
   protected InventoryLineService inventoryLineService;
   protected SequenceService sequenceService;
@@ -121,6 +132,7 @@ public class InventoryService {
   protected TrackingNumberRepository trackingNumberRepository;
   protected AppBaseService appBaseService;
   protected StockLocationRepository stockLocationRepository;
+  protected StockLocationService stockLocationService;
 
   @Inject
   public InventoryService(
@@ -137,7 +149,8 @@ public class InventoryService {
       TrackingNumberRepository trackingNumberRepository,
       AppBaseService appBaseService,
       StockLocationRepository stockLocationRepository,
-      InventoryLineRepository inventoryLineRepository) {
+      InventoryLineRepository inventoryLineRepository,
+      StockLocationService stockLocationService) {
     this.inventoryLineService = inventoryLineService;
     this.sequenceService = sequenceService;
     this.stockConfigService = stockConfigService;
@@ -152,6 +165,7 @@ public class InventoryService {
     this.appBaseService = appBaseService;
     this.stockLocationRepository = stockLocationRepository;
     this.inventoryLineRepository = inventoryLineRepository;
+    this.stockLocationService = stockLocationService;
   }
 
   public Inventory createInventory(
@@ -214,24 +228,184 @@ public class InventoryService {
   @Transactional(rollbackOn = {Exception.class})
   public Path importFile(Inventory inventory) throws AxelorException {
 
+    long startTime = System.currentTimeMillis();
     HashMap<String, InventoryLine> inventoryLineMap = this.getInventoryLines(inventory);
 
     Path filePath = MetaFiles.getPath(inventory.getImportFile());
-    List<CSVRecord> data = this.getDatas(filePath);
 
     inventory.clearInventoryLineList();
 
-    for (CSVRecord line : data) {
-      inventory.addInventoryLineListItem(createInventoryLine(inventory, inventoryLineMap, line));
+    // The file is streamed: rows are resolved and flushed by chunks.
+    int rowCount = 0;
+    ImportIndex importIndex = new ImportIndex();
+    List<CSVRecord> recordList = new ArrayList<>();
+    try (CSVParser parser = this.getParser(filePath)) {
+      for (CSVRecord line : parser) {
+        recordList.add(line);
+        if (recordList.size() >= INVENTORY_LINE_CHUNK_SIZE) {
+          inventory = importInventoryLines(inventory, inventoryLineMap, importIndex, recordList);
+          rowCount += recordList.size();
+          recordList.clear();
+        }
+      }
+    } catch (IOException | IllegalStateException e) {
+      throw new AxelorException(
+          e.getCause(),
+          TraceBackRepository.CATEGORY_CONFIGURATION_ERROR,
+          I18n.get(StockExceptionMessage.INVENTORY_5));
+    }
+    inventory = importInventoryLines(inventory, inventoryLineMap, importIndex, recordList);
+    rowCount += recordList.size();
+
+    if (rowCount == 0) {
+      throw new AxelorException(
+          new Throwable(I18n.get(StockExceptionMessage.INVENTORY_3_DATA_NULL_OR_EMPTY)),
+          TraceBackRepository.CATEGORY_CONFIGURATION_ERROR,
+          I18n.get(StockExceptionMessage.INVENTORY_3));
     }
 
     inventoryRepo.save(inventory);
 
+    log.info(
+        "Inventory {}: {} rows imported in {} ms (resolution: {} ms)",
+        inventory.getInventorySeq(),
+        rowCount,
+        System.currentTimeMillis() - startTime,
+        importIndex.resolutionDuration);
+
     return filePath;
   }
 
+  protected CSVParser getParser(Path filePath) throws IOException {
+    return CSVParser.parse(
+        filePath.toFile(),
+        StandardCharsets.UTF_8,
+        CSVFormat.DEFAULT.withDelimiter(';').withFirstRecordAsHeader().withIgnoreEmptyLines());
+  }
+
+  /**
+   * Create the inventory lines of a chunk of rows, after loading in a few queries the products,
+   * stock locations and tracking numbers they reference. The persistence context is cleared once
+   * the chunk is flushed, so the inventory is returned reloaded.
+   */
+  protected Inventory importInventoryLines(
+      Inventory inventory,
+      HashMap<String, InventoryLine> inventoryLineMap,
+      ImportIndex importIndex,
+      List<CSVRecord> recordList)
+      throws AxelorException {
+    if (recordList.isEmpty()) {
+      return inventory;
+    }
+    loadImportIndex(importIndex, recordList);
+
+    for (CSVRecord line : recordList) {
+      inventoryLineRepository.save(
+          createInventoryLine(inventory, inventoryLineMap, importIndex, line));
+    }
+
+    JPA.flush();
+    importIndex.newTrackingNumberMap.forEach(
+        (key, trackingNumber) -> importIndex.trackingNumberIdMap.put(key, trackingNumber.getId()));
+    importIndex.newTrackingNumberMap.clear();
+    JPA.clear();
+    return inventoryRepo.find(inventory.getId());
+  }
+
+  protected void loadImportIndex(ImportIndex importIndex, List<CSVRecord> recordList) {
+    long startTime = System.currentTimeMillis();
+    Set<String> codeSet = new HashSet<>();
+    Set<String> stockLocationNameSet = new HashSet<>();
+    Set<String> trackingNumberSeqSet = new HashSet<>();
+    for (CSVRecord line : recordList) {
+      if (line.size() < 6) {
+        continue;
+      }
+      codeSet.add(line.get(PRODUCT_CODE).replace("\"", ""));
+      stockLocationNameSet.add(line.get(STOCK_LOCATION).replace("\"", ""));
+      String trackingNumberSeq = line.get(TRACKING_NUMBER).replace("\"", "");
+      if (!StringUtils.isEmpty(trackingNumberSeq)) {
+        trackingNumberSeqSet.add(trackingNumberSeq);
+      }
+    }
+    Set<String> newCodeSet = new HashSet<>(codeSet);
+    newCodeSet.removeAll(importIndex.productIdMap.keySet());
+    Set<String> newStockLocationNameSet = new HashSet<>(stockLocationNameSet);
+    newStockLocationNameSet.removeAll(importIndex.stockLocationIdMap.keySet());
+
+    if (!newCodeSet.isEmpty()) {
+      newCodeSet.forEach(code -> importIndex.productIdMap.put(code, new ArrayList<>()));
+      productRepo
+          .all()
+          .filter("self.code IN (:codeSet) AND self.dtype = 'Product'")
+          .bind("codeSet", newCodeSet)
+          .select("code")
+          .fetch(0, 0)
+          .forEach(
+              map ->
+                  importIndex.productIdMap.get((String) map.get("code")).add((Long) map.get("id")));
+    }
+
+    if (!newStockLocationNameSet.isEmpty()) {
+      newStockLocationNameSet.forEach(name -> importIndex.stockLocationIdMap.put(name, null));
+      stockLocationRepository
+          .all()
+          .filter("self.name IN (:nameSet)")
+          .bind("nameSet", newStockLocationNameSet)
+          .order("id")
+          .select("name")
+          .fetch(0, 0)
+          .forEach(
+              map ->
+                  importIndex.stockLocationIdMap.putIfAbsent(
+                      (String) map.get("name"), (Long) map.get("id")));
+    }
+
+    // The index only keeps ids: the entities referenced by the chunk are loaded in the
+    // persistence context, which is cleared after each chunk.
+    Set<Long> productIdSet =
+        codeSet.stream()
+            .flatMap(code -> importIndex.productIdMap.get(code).stream())
+            .collect(Collectors.toSet());
+    if (!productIdSet.isEmpty()) {
+      productRepo.all().filter("self.id IN (:idSet)").bind("idSet", productIdSet).fetch();
+    }
+
+    Set<Long> stockLocationIdSet =
+        stockLocationNameSet.stream()
+            .map(importIndex.stockLocationIdMap::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+    if (!stockLocationIdSet.isEmpty()) {
+      stockLocationRepository
+          .all()
+          .filter("self.id IN (:idSet)")
+          .bind("idSet", stockLocationIdSet)
+          .fetch();
+    }
+
+    if (!trackingNumberSeqSet.isEmpty()) {
+      trackingNumberRepository
+          .all()
+          .filter("self.trackingNumberSeq IN (:seqSet) AND self.product.code IN (:codeSet)")
+          .bind("seqSet", trackingNumberSeqSet)
+          .bind("codeSet", codeSet)
+          .fetch()
+          .forEach(
+              trackingNumber ->
+                  importIndex.trackingNumberIdMap.putIfAbsent(
+                      getTrackingNumberKey(
+                          trackingNumber.getTrackingNumberSeq(), trackingNumber.getProduct()),
+                      trackingNumber.getId()));
+    }
+    importIndex.resolutionDuration += System.currentTimeMillis() - startTime;
+  }
+
   protected InventoryLine createInventoryLine(
-      Inventory inventory, HashMap<String, InventoryLine> inventoryLineMap, CSVRecord line)
+      Inventory inventory,
+      HashMap<String, InventoryLine> inventoryLineMap,
+      ImportIndex importIndex,
+      CSVRecord line)
       throws AxelorException {
     if (line.size() < 6) {
       throw new AxelorException(
@@ -246,14 +420,19 @@ public class InventoryService {
     String trackingNumberSeq = line.get(TRACKING_NUMBER).replace("\"", "");
     String description = line.get(DESCRIPTION).replace("\"", "");
     String stockLocationName = line.get(STOCK_LOCATION).replace("\"", "");
-    StockLocation stockLocation = null;
-    if (stockLocationName != null) {
-      stockLocation = stockLocationRepository.findByName(stockLocationName);
-    }
+    Long stockLocationId = importIndex.stockLocationIdMap.get(stockLocationName);
+    StockLocation stockLocation =
+        stockLocationId != null ? stockLocationRepository.find(stockLocationId) : null;
     String key = code + trackingNumberSeq + stockLocationName;
     BigDecimal realQty = getRealQty(inventory, line);
     BigDecimal currentQty = getCurrentQty(inventory, line);
-    Product product = getProduct(inventory, code);
+    Product product =
+        getProduct(
+            inventory,
+            code,
+            importIndex.productIdMap.get(code).stream()
+                .map(productRepo::find)
+                .collect(Collectors.toList()));
     BigDecimal price = getPrice(line.get(PRICE));
 
     if (product == null
@@ -267,18 +446,24 @@ public class InventoryService {
     InventoryLine inventoryLine;
     if (inventoryLineMap.containsKey(key)) {
       inventoryLine =
-          copyAndEditInventoryLine(inventoryLineMap.get(key), description, realQty, price);
+          copyAndEditInventoryLine(
+              inventory, inventoryLineMap.get(key), description, realQty, price);
     } else {
+      TrackingNumber trackingNumber = null;
+      if (!StringUtils.isEmpty(trackingNumberSeq)) {
+        trackingNumber = getTrackingNumber(importIndex, trackingNumberSeq, product, realQty);
+      }
       inventoryLine =
-          createInventoryLine(
+          inventoryLineService.createInventoryLine(
               inventory,
+              product,
+              currentQty,
               rack,
-              trackingNumberSeq,
-              description,
+              trackingNumber,
               realQty,
-              currentQty,
-              product,
-              stockLocation);
+              description,
+              stockLocation,
+              null);
       inventoryLine.setPrice(price);
     }
 
@@ -288,6 +473,22 @@ public class InventoryService {
     return inventoryLine;
   }
 
+  protected TrackingNumber getTrackingNumber(
+      ImportIndex importIndex, String trackingNumberSeq, Product product, BigDecimal realQty) {
+    String trackingNumberKey = getTrackingNumberKey(trackingNumberSeq, product);
+    Long trackingNumberId = importIndex.trackingNumberIdMap.get(trackingNumberKey);
+    if (trackingNumberId != null) {
+      return trackingNumberRepository.find(trackingNumberId);
+    }
+    // Tracking numbers created by the import are shared by the rows referencing them.
+    return importIndex.newTrackingNumberMap.computeIfAbsent(
+        trackingNumberKey, key -> getTrackingNumber(trackingNumberSeq, product, realQty));
+  }
+
+  protected String getTrackingNumberKey(String trackingNumberSeq, Product product) {
+    return trackingNumberSeq + "|" + product.getId();
+  }
+
   protected BigDecimal getPrice(String price) {
     if (StringUtils.isNotEmpty(price)) {
       if (X_MARK.equals(price)) {
@@ -299,48 +500,47 @@ public class InventoryService {
   }
 
   protected InventoryLine copyAndEditInventoryLine(
-      InventoryLine inventoryLine, String description, BigDecimal realQty, BigDecimal price)
+      Inventory inventory,
+      InventoryLine inventoryLine,
+      String description,
+      BigDecimal realQty,
+      BigDecimal price)
       throws AxelorException {
 
     // There is not one to many for inventoryLine, so true or false is the same.
     InventoryLine inventoryLineResult = inventoryLineRepository.copy(inventoryLine, true);
+    // The copied line may be detached by a previous chunk: its references are reloaded.
+    inventoryLineResult.setInventory(inventory);
+    inventoryLineResult.setProduct(getReference(Product.class, inventoryLine.getProduct()));
+    inventoryLineResult.setUnit(getReference(Unit.class, inventoryLine.getUnit()));
+    inventoryLineResult.setTrackingNumber(
+        getReference(TrackingNumber.class, inventoryLine.getTrackingNumber()));
+    inventoryLineResult.setStockLocation(
+        getReference(StockLocation.class, inventoryLine.getStockLocation()));
     inventoryLineResult.setRealQty(realQty);
     inventoryLineResult.setDescription(description);
     inventoryLineResult.setPrice(price);
-    inventoryLineService.compute(inventoryLineResult, inventoryLineResult.getInventory());
+    inventoryLineService.compute(inventoryLineResult, inventory);
     return inventoryLineResult;
   }
 
-  protected InventoryLine createInventoryLine(
-      Inventory inventory,
-      String rack,
-      String trackingNumberSeq,
-      String description,
-      BigDecimal realQty,
-      BigDecimal currentQty,
-      Product product,
-      StockLocation stockLocation)
-      throws AxelorException {
-
-    return inventoryLineService.createInventoryLine(
-        inventory,
-        product,
-        currentQty,
-        rack,
-        this.getTrackingNumber(trackingNumberSeq, product, realQty),
-        realQty,
-        description,
-        stockLocation,
-        null);
+  protected <T extends Model> T getReference(Class<T> modelClass, T model) {
+    return model != null ? JPA.em().getReference(modelClass, model.getId()) : null;
   }
 
   protected Product getProduct(Inventory inventory, String code) throws AxelorException {
-    List<Product> productList =
+    return getProduct(
+        inventory,
+        code,
         productRepo
             .all()
             .filter("self.code = :code AND self.dtype = 'Product'")
             .bind("code", code)
-            .fetch();
+            .fetch());
+  }
+
+  protected Product getProduct(Inventory inventory, String code, List<Product> productList)
+      throws AxelorException {
     if (CollectionUtils.isNotEmpty(productList)) {
       if (productList.size() > 1) {
         throw new AxelorException(
@@ -388,29 +588,6 @@ public class InventoryService {
     return null;
   }
 
-  public List<CSVRecord> getDatas(Path filePath) throws AxelorException {
-
-    List<CSVRecord> data;
-    char separator = ';';
-    try {
-      data = CsvHelper.csvFileReader(filePath.toString(), separator);
-    } catch (Exception e) {
-      throw new AxelorException(
-          e.getCause(),
-          TraceBackRepository.CATEGORY_CONFIGURATION_ERROR,
-          I18n.get(StockExceptionMessage.INVENTORY_5));
-    }
-
-    if (data == null || data.isEmpty()) {
-      throw new AxelorException(
-          new Throwable(I18n.get(StockExceptionMessage.INVENTORY_3_DATA_NULL_OR_EMPTY)),
-          TraceBackRepository.CATEGORY_CONFIGURATION_ERROR,
-          I18n.get(StockExceptionMessage.INVENTORY_3));
-    }
-
-    return data;
-  }
-
   public HashMap<String, InventoryLine> getInventoryLines(Inventory inventory) {
     HashMap<String, InventoryLine> inventoryLineMap = new HashMap<>();
 
@@ -810,35 +987,72 @@ public class InventoryService {
           I18n.get(StockExceptionMessage.INVENTORY_1));
     }
 
+    long startTime = System.currentTimeMillis();
     this.initInventoryLines(inventory);
 
-    List<? extends StockLocationLine> stockLocationLineList = this.getStockLocationLines(inventory);
-
-    if (stockLocationLineList != null) {
-      Boolean succeed = false;
+    List<Long> stockLocationLineIdList = this.getStockLocationLineIdList(inventory);
+    long fetchDuration = System.currentTimeMillis() - startTime;
+
+    // The lines are created by chunks, the persistence context being cleared after each of them.
+    Long inventoryId = inventory.getId();
+    for (int fromIndex = 0;
+        fromIndex < stockLocationLineIdList.size();
+        fromIndex += INVENTORY_LINE_CHUNK_SIZE) {
+      List<Long> idList =
+          stockLocationLineIdList.subList(
+              fromIndex,
+              Math.min(fromIndex + INVENTORY_LINE_CHUNK_SIZE, stockLocationLineIdList.size()));
+      List<StockLocationLine> stockLocationLineList =
+          stockLocationLineRepository
+              .all()
+              .filter("self.id IN (:idList)")
+              .bind("idList", idList)
+              .order("id")
+              .fetch();
       for (StockLocationLine stockLocationLine : stockLocationLineList) {
-        if (ObjectUtils.isEmpty(stockLocationLine.getTrackingNumber())) {
-          long numberOfTrackingNumberOnAProduct =
-              stockLocationLineList.stream()
-                  .filter(
-                      sll ->
-                          stockLocationLine.getProduct() != null
-                              && stockLocationLine.getProduct().equals(sll.getProduct())
-                              && sll.getTrackingNumber() != null
-                              && inventory.getStockLocation().equals(sll.getDetailsStockLocation()))
-                  .count();
-
-          if (numberOfTrackingNumberOnAProduct != 0) {
-            continue;
-          }
-        }
-        inventory.addInventoryLineListItem(this.createInventoryLine(inventory, stockLocationLine));
-        succeed = true;
+        inventoryLineRepository.save(this.createInventoryLine(inventory, stockLocationLine));
       }
-      inventoryRepo.save(inventory);
-      return succeed;
+      JPA.flush();
+      JPA.clear();
+      inventory = inventoryRepo.find(inventoryId);
     }
-    return null;
+    inventoryRepo.save(inventory);
+
+    log.info(
+        "Inventory {}: {} lines generated in {} ms (fetch: {} ms)",
+        inventory.getInventorySeq(),
+        stockLocationLineIdList.size(),
+        System.currentTimeMillis() - startTime,
+        fetchDuration);
+    return !stockLocationLineIdList.isEmpty();
+  }
+
+  /**
+   * Returns the ids, in ascending order, of the stock location lines to generate inventory lines
+   * from. Products having tracked detail lines in the stock location of the inventory: their lines
+   * without tracking number are replaced by the tracked ones.
+   */
+  protected List<Long> getStockLocationLineIdList(Inventory inventory) {
+    List<StockLocationLine> stockLocationLineList = this.getStockLocationLines(inventory);
+    Set<Long> trackedProductIdSet =
+        stockLocationLineList.stream()
+            .filter(
+                sll ->
+                    sll.getProduct() != null
+                        && sll.getTrackingNumber() != null
+                        && inventory.getStockLocation().equals(sll.getDetailsStockLocation()))
+            .map(sll -> sll.getProduct().getId())
+            .collect(Collectors.toSet());
+
+    return stockLocationLineList.stream()
+        .filter(
+            sll ->
+                !ObjectUtils.isEmpty(sll.getTrackingNumber())
+                    || sll.getProduct() == null
+                    || !trackedProductIdSet.contains(sll.getProduct().getId()))
+        .map(StockLocationLine::getId)
+        .sorted()
+        .collect(Collectors.toList());
   }
 
   public List<StockLocationLine> getStockLocationLines(Inventory inventory) {
@@ -847,8 +1061,8 @@ public class InventoryService {
     Set<StockLocation> stockLocations = new HashSet<>();
 
     if (inventory.getIncludeSubStockLocation()) {
-      stockLocations.add(inventory.getStockLocation());
-      stockLocations = this.getStockLocations(stockLocations);
+      stockLocations.addAll(
+          stockLocationService.getAllLocationAndSubLocation(inventory.getStockLocation(), true));
       if (CollectionUtils.isNotEmpty(stockLocations)) {
         query = "(self.stockLocation IN (?) OR self.detailsStockLocation IN (?))";
         params.add(stockLocations);
@@ -1113,4 +1327,14 @@ public class InventoryService {
               stringHTMLListInventoryLine));
     }
   }
+
+  /** Ids of the products, stock locations and tracking numbers resolved while importing a file. */
+  protected static class ImportIndex {
+    protected final Map<String, List<Long>> productIdMap = new HashMap<>();
+    protected final Map<String, Long> stockLocationIdMap = new HashMap<>();
+    protected final Map<String, Long> trackingNumberIdMap = new HashMap<>();
+    /** Tracking numbers created by the current chunk, indexed once it is flushed. */
+    protected final Map<String, TrackingNumber> newTrackingNumberMap = new HashMap<>();
+    protected long resolutionDuration;
+  }
 }
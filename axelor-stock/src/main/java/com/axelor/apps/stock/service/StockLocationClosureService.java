@@ -0,0 +1,71 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.stock.service;
+
+import com.axelor.apps.stock.db.StockLocation;
+import java.util.List;
+
+/**
+ * Maintains the closure table of the stock location hierarchy, which stores one row per
+ * ancestor/descendant pair so that a whole sub-tree can be fetched with a single query.
+ */
+public interface StockLocationClosureService {
+
+  /**
+   * Update the closure rows of the given stock location after it has been created or its parent
+   * has been changed. The sub-tree of the location is moved along with it.
+   *
+   * @param stockLocation a saved stock location
+   */
+  void updateClosure(StockLocation stockLocation);
+
+  /**
+   * Remove every closure row referencing the given stock location.
+   *
+   * @param stockLocation a stock location about to be removed
+   */
+  void removeClosure(StockLocation stockLocation);
+
+  /**
+   * Recompute the whole closure table from the parent links of the stock locations. Used to fill
+   * the table of an existing database or after importing stock locations without going through
+   * the repository.
+   *
+   * @return the number of indexed stock locations
+   */
+  int rebuildClosure();
+
+  /**
+   * Fetch the given stock location and all its sub-locations, deepest first.
+   *
+   * @param stockLocation the root of the sub-tree
+   * @param isVirtualInclude if false, virtual sub-locations and everything below them are skipped
+   * @return the stock locations of the sub-tree, the given stock location being the last one
+   */
+  List<StockLocation> getSubLocationList(StockLocation stockLocation, boolean isVirtualInclude);
+
+  /**
+   * Same as {@link #getSubLocationList(StockLocation, boolean)} but only fetching the ids.
+   *
+   * @param stockLocationId the id of the root of the sub-tree
+   * @param isVirtualInclude if false, virtual sub-locations and everything below them are skipped
+   * @return the ids of the sub-tree, the given id being the last one
+   */
+  List<Long> getSubLocationIdList(Long stockLocationId, boolean isVirtualInclude);
+}
@@ -0,0 +1,394 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.stock.service;
+
+import com.axelor.apps.stock.db.StockLocation;
+import com.axelor.apps.stock.db.StockLocationClosure;
+import com.axelor.apps.stock.db.repo.StockLocationRepository;
+import com.axelor.db.JPA;
+import com.google.inject.persist.Transactional;
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class StockLocationClosureServiceImpl implements StockLocationClosureService {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  protected static final int FETCH_LIMIT = 100;
+
+  @Override
+  @Transactional
+  public void updateClosure(StockLocation stockLocation) {
+    updateClosure(stockLocation, new HashSet<>());
+  }
+
+  /**
+   * Update the closure rows of the given stock location. A parent which has not been indexed yet
+   * is indexed first, along with its own ancestors.
+   *
+   * @param stockLocation a saved stock location
+   * @param visitedIds the stock locations already being indexed, to stop on cyclic hierarchies
+   */
+  protected void updateClosure(StockLocation stockLocation, Set<Long> visitedIds) {
+    if (stockLocation == null
+        || stockLocation.getId() == null
+        || !visitedIds.add(stockLocation.getId())) {
+      return;
+    }
+    EntityManager em = JPA.em();
+    Long stockLocationId = stockLocation.getId();
+    StockLocation parentStockLocation = stockLocation.getParentStockLocation();
+    Long parentId = parentStockLocation != null ? parentStockLocation.getId() : null;
+
+    List<Object[]> currentLinks =
+        em.createQuery(
+                "SELECT c.ancestorStockLocation.id, c.depth FROM StockLocationClosure c "
+                    + "WHERE c.descendantStockLocation.id = :stockLocationId AND c.depth <= 1",
+                Object[].class)
+            .setParameter("stockLocationId", stockLocationId)
+            .getResultList();
+
+    if (currentLinks.isEmpty()) {
+      // New stock location: it has no sub-location yet.
+      List<Object[]> ancestors = parentId != null ? getAncestors(em, parentId) : List.of();
+      if (parentId != null && ancestors.isEmpty()) {
+        // The parent has been created before the closure table: index its branch first.
+        updateClosure(parentStockLocation, visitedIds);
+        ancestors = getAncestors(em, parentId);
+      }
+      List<StockLocationClosure> closureList = new ArrayList<>();
+      closureList.add(createClosure(em, stockLocationId, stockLocationId, 0));
+      if (parentId != null) {
+        for (Object[] ancestor : ancestors) {
+          closureList.add(
+              createClosure(em, (Long) ancestor[0], stockLocationId, (Integer) ancestor[1] + 1));
+        }
+      }
+      persistClosures(em, closureList);
+      return;
+    }
+
+    Long currentParentId =
+        currentLinks.stream()
+            .filter(link -> Integer.valueOf(1).equals(link[1]))
+            .map(link -> (Long) link[0])
+            .findFirst()
+            .orElse(null);
+    if (Objects.equals(currentParentId, parentId)) {
+      return;
+    }
+
+    // The stock location has been moved: detach its sub-tree from its former ancestors and attach
+    // it to the ancestors of its new parent.
+    List<Object[]> subTree =
+        em.createQuery(
+                "SELECT c.descendantStockLocation.id, c.depth FROM StockLocationClosure c "
+                    + "WHERE c.ancestorStockLocation.id = :stockLocationId",
+                Object[].class)
+            .setParameter("stockLocationId", stockLocationId)
+            .getResultList();
+
+    em.createQuery(
+            "DELETE FROM StockLocationClosure c "
+                + "WHERE c.descendantStockLocation.id IN ("
+                + "SELECT s.descendantStockLocation.id FROM StockLocationClosure s "
+                + "WHERE s.ancestorStockLocation.id = :stockLocationId) "
+                + "AND c.ancestorStockLocation.id NOT IN ("
+                + "SELECT t.descendantStockLocation.id FROM StockLocationClosure t "
+                + "WHERE t.ancestorStockLocation.id = :stockLocationId)")
+        .setParameter("stockLocationId", stockLocationId)
+        .executeUpdate();
+
+    if (parentId == null) {
+      return;
+    }
+    Set<Long> subTreeIds = new HashSet<>();
+    subTree.forEach(descendant -> subTreeIds.add((Long) descendant[0]));
+
+    List<StockLocationClosure> closureList = new ArrayList<>();
+    for (Object[] ancestor : getAncestors(em, parentId)) {
+      if (subTreeIds.contains(ancestor[0])) {
+        // Cycle in the hierarchy, do not link the sub-tree to itself.
+        continue;
+      }
+      for (Object[] descendant : subTree) {
+        closureList.add(
+            createClosure(
+                em,
+                (Long) ancestor[0],
+                (Long) descendant[0],
+                (Integer) ancestor[1] + (Integer) descendant[1] + 1));
+      }
+    }
+    persistClosures(em, closureList);
+  }
+
+  @Override
+  @Transactional
+  public void removeClosure(StockLocation stockLocation) {
+    if (stockLocation == null || stockLocation.getId() == null) {
+      return;
+    }
+    JPA.em()
+        .createQuery(
+            "DELETE FROM StockLocationClosure c "
+                + "WHERE c.ancestorStockLocation.id = :stockLocationId "
+                + "OR c.descendantStockLocation.id = :stockLocationId")
+        .setParameter("stockLocationId", stockLocation.getId())
+        .executeUpdate();
+  }
+
+  @Override
+  @Transactional
+  public int rebuildClosure() {
+    EntityManager em = JPA.em();
+    em.createQuery("DELETE FROM StockLocationClosure").executeUpdate();
+
+    Map<Long, List<Long>> childrenMap = new HashMap<>();
+    List<Long> rootIds = new ArrayList<>();
+    for (Object[] link :
+        em.createQuery(
+                "SELECT sl.id, parent.id FROM StockLocation sl "
+                    + "LEFT JOIN sl.parentStockLocation parent",
+                Object[].class)
+            .getResultList()) {
+      if (link[1] == null) {
+        rootIds.add((Long) link[0]);
+      } else {
+        childrenMap.computeIfAbsent((Long) link[1], key -> new ArrayList<>()).add((Long) link[0]);
+      }
+    }
+
+    // Depth-first walk keeping the path from the root, every location of the path being an
+    // ancestor of the current one.
+    Set<Long> visitedIds = new HashSet<>();
+    List<StockLocationClosure> closureList = new ArrayList<>();
+    for (Long rootId : rootIds) {
+      Deque<List<Long>> pathStack = new ArrayDeque<>();
+      pathStack.push(List.of(rootId));
+      while (!pathStack.isEmpty()) {
+        List<Long> path = pathStack.pop();
+        Long stockLocationId = path.get(path.size() - 1);
+        if (!visitedIds.add(stockLocationId)) {
+          continue;
+        }
+        for (int i = 0; i < path.size(); i++) {
+          closureList.add(createClosure(em, path.get(i), stockLocationId, path.size() - 1 - i));
+        }
+        if (closureList.size() >= FETCH_LIMIT) {
+          persistClosures(em, closureList);
+          closureList.clear();
+        }
+        for (Long childId : childrenMap.getOrDefault(stockLocationId, List.of())) {
+          List<Long> childPath = new ArrayList<>(path);
+          childPath.add(childId);
+          pathStack.push(childPath);
+        }
+      }
+    }
+    persistClosures(em, closureList);
+    return visitedIds.size();
+  }
+
+  @Override
+  public List<StockLocation> getSubLocationList(
+      StockLocation stockLocation, boolean isVirtualInclude) {
+    if (stockLocation == null) {
+      return new ArrayList<>();
+    }
+    List<StockLocation> resultList =
+        fetchSubLocations(
+            "c.descendantStockLocation",
+            StockLocation.class,
+            stockLocation.getId(),
+            isVirtualInclude);
+    if (resultList.isEmpty()) {
+      warnNotIndexed(stockLocation.getId());
+      walkSubLocations(stockLocation, isVirtualInclude, new HashSet<>(), resultList);
+    }
+    return resultList;
+  }
+
+  @Override
+  public List<Long> getSubLocationIdList(Long stockLocationId, boolean isVirtualInclude) {
+    if (stockLocationId == null) {
+      return new ArrayList<>();
+    }
+    List<Long> resultList =
+        fetchSubLocations(
+            "c.descendantStockLocation.id", Long.class, stockLocationId, isVirtualInclude);
+    if (resultList.isEmpty()) {
+      warnNotIndexed(stockLocationId);
+      walkSubLocationIds(stockLocationId, isVirtualInclude, new HashSet<>(), resultList);
+    }
+    return resultList;
+  }
+
+  /**
+   * Fetch the sub-tree of a stock location from the closure table. The sub-tree always contains
+   * its root, so an empty result means that the stock location is not indexed, either because it
+   * is not saved or because the closure table has not been filled yet.
+   */
+  protected <T> List<T> fetchSubLocations(
+      String select, Class<T> resultClass, Long stockLocationId, boolean isVirtualInclude) {
+    List<T> resultList = new ArrayList<>();
+    if (stockLocationId != null) {
+      resultList.addAll(
+          createSubLocationQuery(select, resultClass, stockLocationId, isVirtualInclude)
+              .getResultList());
+    }
+    return resultList;
+  }
+
+  protected void warnNotIndexed(Long stockLocationId) {
+    if (stockLocationId != null) {
+      LOG.warn(
+          "Stock location {} is not indexed in the closure table, its sub-locations are fetched "
+              + "recursively: run the stock batch rebuilding the stock location hierarchy.",
+          stockLocationId);
+    }
+  }
+
+  /**
+   * Walk the sub-tree of a stock location which is not indexed with one query per location,
+   * deepest locations first. Virtual sub-locations and their sub-trees are skipped when {@code
+   * isVirtualInclude} is false.
+   */
+  protected void walkSubLocations(
+      StockLocation stockLocation,
+      boolean isVirtualInclude,
+      Set<Long> visitedIds,
+      List<StockLocation> resultList) {
+    if (stockLocation.getId() != null) {
+      if (!visitedIds.add(stockLocation.getId())) {
+        return;
+      }
+      for (StockLocation subLocation :
+          JPA.em()
+              .createQuery(
+                  "SELECT sl FROM StockLocation sl "
+                      + "WHERE sl.parentStockLocation.id = :stockLocationId "
+                      + "AND (:isVirtualInclude = TRUE OR sl.typeSelect != :virtual)",
+                  StockLocation.class)
+              .setParameter("stockLocationId", stockLocation.getId())
+              .setParameter("isVirtualInclude", isVirtualInclude)
+              .setParameter("virtual", StockLocationRepository.TYPE_VIRTUAL)
+              .getResultList()) {
+        walkSubLocations(subLocation, isVirtualInclude, visitedIds, resultList);
+      }
+    }
+    resultList.add(stockLocation);
+  }
+
+  /** Same as {@link #walkSubLocations} on stock location ids. */
+  protected void walkSubLocationIds(
+      Long stockLocationId, boolean isVirtualInclude, Set<Long> visitedIds, List<Long> resultList) {
+    if (!visitedIds.add(stockLocationId)) {
+      return;
+    }
+    for (Long subLocationId :
+        JPA.em()
+            .createQuery(
+                "SELECT sl.id FROM StockLocation sl "
+                    + "WHERE sl.parentStockLocation.id = :stockLocationId "
+                    + "AND (:isVirtualInclude = TRUE OR sl.typeSelect != :virtual)",
+                Long.class)
+            .setParameter("stockLocationId", stockLocationId)
+            .setParameter("isVirtualInclude", isVirtualInclude)
+            .setParameter("virtual", StockLocationRepository.TYPE_VIRTUAL)
+            .getResultList()) {
+      walkSubLocationIds(subLocationId, isVirtualInclude, visitedIds, resultList);
+    }
+    resultList.add(stockLocationId);
+  }
+
+  /**
+   * Query the sub-tree of a stock location, deepest locations first. When virtual locations are
+   * excluded, a descendant is skipped if one of the locations between it and the root (itself
+   * included) is virtual.
+   */
+  protected <T> TypedQuery<T> createSubLocationQuery(
+      String select, Class<T> resultClass, Long stockLocationId, boolean isVirtualInclude) {
+    StringBuilder query =
+        new StringBuilder("SELECT ")
+            .append(select)
+            .append(" FROM StockLocationClosure c")
+            .append(" WHERE c.ancestorStockLocation.id = :stockLocationId");
+    if (!isVirtualInclude) {
+      query.append(
+          " AND NOT EXISTS (SELECT v.id FROM StockLocationClosure v"
+              + " WHERE v.descendantStockLocation = c.descendantStockLocation"
+              + " AND v.depth < c.depth"
+              + " AND v.ancestorStockLocation.typeSelect = :virtual)");
+    }
+    query.append(" ORDER BY c.depth DESC, c.descendantStockLocation.id");
+
+    TypedQuery<T> typedQuery =
+        JPA.em()
+            .createQuery(query.toString(), resultClass)
+            .setParameter("stockLocationId", stockLocationId);
+    if (!isVirtualInclude) {
+      typedQuery.setParameter("virtual", StockLocationRepository.TYPE_VIRTUAL);
+    }
+    return typedQuery;
+  }
+
+  protected List<Object[]> getAncestors(EntityManager em, Long stockLocationId) {
+    return em.createQuery(
+            "SELECT c.ancestorStockLocation.id, c.depth FROM StockLocationClosure c "
+                + "WHERE c.descendantStockLocation.id = :stockLocationId",
+            Object[].class)
+        .setParameter("stockLocationId", stockLocationId)
+        .getResultList();
+  }
+
+  protected StockLocationClosure createClosure(
+      EntityManager em, Long ancestorId, Long descendantId, int depth) {
+    StockLocationClosure closure = new StockLocationClosure();
+    closure.setAncestorStockLocation(em.getReference(StockLocation.class, ancestorId));
+    closure.setDescendantStockLocation(em.getReference(StockLocation.class, descendantId));
+    closure.setDepth(depth);
+    return closure;
+  }
+
+  /**
+   * Persist and flush the closure rows, then detach them so that large trees do not fill the
+   * persistence context of the current transaction.
+   */
+  protected void persistClosures(EntityManager em, List<StockLocationClosure> closureList) {
+    if (closureList.isEmpty()) {
+      return;
+    }
+    closureList.forEach(em::persist);
+    em.flush();
+    closureList.forEach(em::detach);
+  }
+}
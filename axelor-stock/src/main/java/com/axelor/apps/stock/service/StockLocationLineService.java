@@ -163,6 +163,28 @@ public interface StockLocationLineService {
    */
   BigDecimal computeFutureQty(StockLocationLine stockLocationLine) throws AxelorException;
 
+  /**
+   * Compute the planned quantity of a stock location line from the planned stock move lines with
+   * the same stock location and the same product: incoming quantities minus outgoing quantities,
+   * in the unit of the stock location line.
+   *
+   * <p>The planned quantity is otherwise maintained incrementally when stock moves are planned,
+   * realized or canceled, this method is used to initialize it or to detect drifts.
+   *
+   * @param stockLocationLine a stock location line with a product and a stock location.
+   * @return the planned quantity of the stock location line.
+   */
+  BigDecimal computePlannedQty(StockLocationLine stockLocationLine) throws AxelorException;
+
+  /**
+   * Recompute the planned quantity of a stock location line and fix it, along with the future
+   * quantity, if it drifted from the planned stock move lines.
+   *
+   * @param stockLocationLine a stock location line with a product and a stock location.
+   * @return true if the stock location line has been corrected.
+   */
+  boolean reconcilePlannedQty(StockLocationLine stockLocationLine) throws AxelorException;
+
   /**
    * Update avgPrice in stock location line and save wap history in the line.
    *
@@ -435,6 +435,9 @@ public class StockLocationLineServiceImpl implements StockLocationLineService {
       LocalDate lastFutureStockMoveDate)
       throws AxelorException {
 
+    if (future) {
+      initPlannedQty(stockLocationLine);
+    }
     if (current) {
       if (isIncrement) {
         stockLocationLine.setCurrentQty(stockLocationLine.getCurrentQty().add(qty));
@@ -443,13 +446,35 @@ public class StockLocationLineServiceImpl implements StockLocationLineService {
       }
     }
     if (future) {
-      stockLocationLine.setFutureQty(computeFutureQty(stockLocationLine));
+      if (!current) {
+        // Only the planned quantity changes: the move line is being planned or unplanned.
+        BigDecimal plannedQty = stockLocationLine.getPlannedQty();
+        stockLocationLine.setPlannedQty(
+            isIncrement ? plannedQty.add(qty) : plannedQty.subtract(qty));
+      }
+      stockLocationLine.setFutureQty(
+          stockLocationLine.getCurrentQty().add(stockLocationLine.getPlannedQty()));
       stockLocationLine.setLastFutureStockMoveDate(lastFutureStockMoveDate);
     }
 
     return stockLocationLine;
   }
 
+  /**
+   * Initialize the planned quantity of a stock location line created before this quantity was
+   * maintained. The future quantity of such a line already includes its planned stock move lines.
+   *
+   * @param stockLocationLine a stock location line
+   */
+  protected void initPlannedQty(StockLocationLine stockLocationLine) {
+    if (stockLocationLine.getIsPlannedQtyInitialized()) {
+      return;
+    }
+    stockLocationLine.setPlannedQty(
+        stockLocationLine.getFutureQty().subtract(stockLocationLine.getCurrentQty()));
+    stockLocationLine.setIsPlannedQtyInitialized(true);
+  }
+
   @Override
   public StockLocationLine getOrCreateStockLocationLine(
       StockLocation stockLocation, Product product) {
@@ -499,6 +524,7 @@ public class StockLocationLineServiceImpl implements StockLocationLineService {
     stockLocationLine.setUnit(product.getUnit());
     stockLocationLine.setCurrentQty(BigDecimal.ZERO);
     stockLocationLine.setFutureQty(BigDecimal.ZERO);
+    stockLocationLine.setIsPlannedQtyInitialized(true);
 
     return stockLocationLine;
   }
@@ -527,6 +553,7 @@ public class StockLocationLineServiceImpl implements StockLocationLineService {
     detailLocationLine.setUnit(product.getUnit());
     detailLocationLine.setCurrentQty(qty);
     detailLocationLine.setFutureQty(qty);
+    detailLocationLine.setIsPlannedQtyInitialized(true);
 
     detailLocationLine.setTrackingNumber(trackingNumber);
 
@@ -564,7 +591,9 @@ public class StockLocationLineServiceImpl implements StockLocationLineService {
       stockLocationLine.setCurrentQty(currentQty);
 
       stockLocationLine.setUnit(product.getUnit());
-      stockLocationLine.setFutureQty(computeFutureQty(stockLocationLine));
+      stockLocationLine.setPlannedQty(computePlannedQty(stockLocationLine));
+      stockLocationLine.setIsPlannedQtyInitialized(true);
+      stockLocationLine.setFutureQty(currentQty.add(stockLocationLine.getPlannedQty()));
 
       BigDecimal avgQty = BigDecimal.ZERO;
       if (currentQty.compareTo(BigDecimal.ZERO) != 0) {
@@ -591,10 +620,15 @@ public class StockLocationLineServiceImpl implements StockLocationLineService {
   public BigDecimal computeFutureQty(StockLocationLine stockLocationLine) throws AxelorException {
     // future quantity is current quantity minus planned outgoing stock move lines plus planned
     // incoming stock move lines.
+    return stockLocationLine.getCurrentQty().add(computePlannedQty(stockLocationLine));
+  }
+
+  @Override
+  public BigDecimal computePlannedQty(StockLocationLine stockLocationLine) throws AxelorException {
 
     Product product = stockLocationLine.getProduct();
 
-    BigDecimal futureQty = stockLocationLine.getCurrentQty();
+    BigDecimal plannedQty = BigDecimal.ZERO;
 
     List<StockMoveLine> incomingStockMoveLineList =
         findIncomingPlannedStockMoveLines(stockLocationLine);
@@ -617,7 +651,7 @@ public class StockLocationLineServiceImpl implements StockLocationLineService {
               incomingStockMoveLine.getRealQty(),
               incomingStockMoveLine.getRealQty().scale(),
               product);
-      futureQty = futureQty.add(qtyToAdd);
+      plannedQty = plannedQty.add(qtyToAdd);
     }
 
     for (StockMoveLine outgoingStockMoveLine : outgoingStockMoveLineList) {
@@ -628,10 +662,27 @@ public class StockLocationLineServiceImpl implements StockLocationLineService {
               outgoingStockMoveLine.getRealQty(),
               outgoingStockMoveLine.getRealQty().scale(),
               product);
-      futureQty = futureQty.subtract(qtyToSubtract);
+      plannedQty = plannedQty.subtract(qtyToSubtract);
     }
 
-    return futureQty;
+    return plannedQty;
+  }
+
+  @Override
+  @Transactional
+  public boolean reconcilePlannedQty(StockLocationLine stockLocationLine) throws AxelorException {
+    BigDecimal plannedQty = computePlannedQty(stockLocationLine);
+    BigDecimal futureQty = stockLocationLine.getCurrentQty().add(plannedQty);
+    if (stockLocationLine.getIsPlannedQtyInitialized()
+        && plannedQty.compareTo(stockLocationLine.getPlannedQty()) == 0
+        && futureQty.compareTo(stockLocationLine.getFutureQty()) == 0) {
+      return false;
+    }
+    stockLocationLine.setPlannedQty(plannedQty);
+    stockLocationLine.setIsPlannedQtyInitialized(true);
+    stockLocationLine.setFutureQty(futureQty);
+    stockLocationLineRepo.save(stockLocationLine);
+    return true;
   }
 
   protected List<StockMoveLine> findIncomingPlannedStockMoveLines(
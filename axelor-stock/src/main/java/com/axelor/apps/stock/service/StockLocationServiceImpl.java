@@ -33,7 +33,6 @@ import com.axelor.apps.stock.db.repo.StockLocationRepository;
 import com.axelor.apps.stock.db.repo.StockRulesRepository;
 import com.axelor.apps.stock.service.config.StockConfigService;
 import com.axelor.apps.stock.utils.StockLocationUtilsService;
-import com.axelor.db.JPA;
 import com.axelor.rpc.filter.Filter;
 import com.axelor.rpc.filter.JPQLFilter;
 import com.google.common.collect.Lists;
@@ -68,6 +67,8 @@ public class StockLocationServiceImpl implements StockLocationService {
   protected final StockRulesRepository stockRulesRepository;
   protected final StockLocationLineRepository stockLocationLineRepository;
 
+  protected StockLocationClosureService stockLocationClosureService;
+
   protected Set<Long> locationIdSet = new HashSet<>();
 
   @Inject
@@ -81,7 +82,8 @@ public class StockLocationServiceImpl implements StockLocationService {
       UnitConversionService unitConversionService,
       StockLocationUtilsService stockLocationUtilsService,
       StockRulesRepository stockRulesRepository,
-      StockLocationLineRepository stockLocationLineRepository) {
+      StockLocationLineRepository stockLocationLineRepository,
+      StockLocationClosureService stockLocationClosureService) {
     this.stockLocationRepo = stockLocationRepo;
     this.stockLocationLineService = stockLocationLineService;
     this.productRepo = productRepo;
@@ -92,6 +94,7 @@ public class StockLocationServiceImpl implements StockLocationService {
     this.stockLocationUtilsService = stockLocationUtilsService;
     this.stockRulesRepository = stockRulesRepository;
     this.stockLocationLineRepository = stockLocationLineRepository;
+    this.stockLocationClosureService = stockLocationClosureService;
   }
 
   protected List<StockLocation> getNonVirtualStockLocations(Long companyId) {
@@ -194,58 +197,11 @@ public class StockLocationServiceImpl implements StockLocationService {
 
   public List<StockLocation> getAllLocationAndSubLocation(
       StockLocation stockLocation, boolean isVirtualInclude) {
-
-    List<StockLocation> resultList = new ArrayList<>();
-    if (stockLocation == null) {
-      return resultList;
-    }
-    if (isVirtualInclude) {
-      for (StockLocation subLocation :
-          stockLocationRepo
-              .all()
-              .filter("self.parentStockLocation.id = :stockLocationId")
-              .bind("stockLocationId", stockLocation.getId())
-              .fetch()) {
-
-        resultList.addAll(this.getAllLocationAndSubLocation(subLocation, isVirtualInclude));
-      }
-    } else {
-      for (StockLocation subLocation :
-          stockLocationRepo
-              .all()
-              .filter(
-                  "self.parentStockLocation.id = :stockLocationId AND self.typeSelect != :virtual")
-              .bind("stockLocationId", stockLocation.getId())
-              .bind("virtual", StockLocationRepository.TYPE_VIRTUAL)
-              .fetch()) {
-
-        resultList.addAll(this.getAllLocationAndSubLocation(subLocation, isVirtualInclude));
-      }
-    }
-    resultList.add(stockLocation);
-
-    return resultList;
+    return stockLocationClosureService.getSubLocationList(stockLocation, isVirtualInclude);
   }
 
   public List<Long> getAllLocationAndSubLocation(Long stockLocationId, boolean isVirtualInclude) {
-
-    List<Long> resultList = new ArrayList<>();
-    if (stockLocationId == null) {
-      return resultList;
-    }
-    for (Long subLocationId :
-        JPA.em()
-            .createQuery(
-                "SELECT sl.id FROM StockLocation sl WHERE sl.parentStockLocation.id = :stockLocationId AND (:isVirtual is true OR sl.typeSelect != :isVirtual)",
-                Long.class)
-            .setParameter("stockLocationId", stockLocationId)
-            .setParameter("isVirtual", isVirtualInclude)
-            .getResultList()) {
-      resultList.addAll(this.getAllLocationAndSubLocation(subLocationId, isVirtualInclude));
-    }
-    resultList.add(stockLocationId);
-
-    return resultList;
+    return stockLocationClosureService.getSubLocationIdList(stockLocationId, isVirtualInclude);
   }
 
   @Override
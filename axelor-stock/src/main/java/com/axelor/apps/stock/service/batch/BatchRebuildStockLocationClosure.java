@@ -0,0 +1,78 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.stock.service.batch;
+
+import com.axelor.apps.base.db.repo.BatchRepository;
+import com.axelor.apps.base.db.repo.ExceptionOriginRepository;
+import com.axelor.apps.base.exceptions.BaseExceptionMessage;
+import com.axelor.apps.base.service.administration.AbstractBatch;
+import com.axelor.apps.base.service.exception.TraceBackService;
+import com.axelor.apps.stock.exception.StockExceptionMessage;
+import com.axelor.apps.stock.service.StockLocationClosureService;
+import com.axelor.i18n.I18n;
+import com.google.inject.Inject;
+
+/**
+ * Fill the closure table of the stock location hierarchy from the parent links of the stock
+ * locations. Must be run once on an existing database, and after importing stock locations without
+ * going through the repository.
+ */
+public class BatchRebuildStockLocationClosure extends AbstractBatch {
+
+  protected StockLocationClosureService stockLocationClosureService;
+
+  protected int indexedCount;
+
+  @Inject
+  public BatchRebuildStockLocationClosure(StockLocationClosureService stockLocationClosureService) {
+    this.stockLocationClosureService = stockLocationClosureService;
+  }
+
+  @Override
+  protected void process() {
+    try {
+      indexedCount = stockLocationClosureService.rebuildClosure();
+      incrementDone();
+    } catch (Exception e) {
+      incrementAnomaly();
+      TraceBackService.trace(
+          e, ExceptionOriginRepository.REBUILD_STOCK_LOCATION_CLOSURE, batch.getId());
+    }
+  }
+
+  @Override
+  protected void stop() {
+    String comment =
+        I18n.get(StockExceptionMessage.BATCH_REBUILD_STOCK_LOCATION_CLOSURE_REPORT) + "\n";
+    comment +=
+        String.format(
+            "\t" + I18n.get(StockExceptionMessage.BATCH_REBUILD_STOCK_LOCATION_CLOSURE_DONE) + "\n",
+            indexedCount);
+    comment +=
+        String.format("\t" + I18n.get(BaseExceptionMessage.BASE_BATCH_3), batch.getAnomaly());
+
+    super.stop();
+    addComment(comment);
+  }
+
+  @Override
+  protected void setBatchTypeSelect() {
+    this.batch.setBatchTypeSelect(BatchRepository.BATCH_TYPE_STOCK_BATCH);
+  }
+}
@@ -118,29 +118,34 @@ public class BatchRecomputeStockLocationLines extends AbstractBatch {
                 "UPDATE stock_stock_location_line SET "
                     + " avg_price = 0, "
                     + " current_qty = 0, "
-                    + " future_qty = 0 ");
+                    + " future_qty = 0, "
+                    + " planned_qty = 0, "
+                    + " is_planned_qty_initialized = true ");
 
     JPA.runInTransaction(clearWapHistoryLinesQuery::executeUpdate);
   }
 
   protected void updatePlannedQty(StockMoveGroup stockMoveGroup) throws AxelorException {
 
-    List<StockMoveLine> stockMoveLineList;
-    Query<StockMoveLine> query = buildQueryFetchStockMoveLineFromGroup(stockMoveGroup).order("id");
-    int offSet = 0;
-    while (!(stockMoveLineList = query.fetch(FETCH_LIMIT, offSet)).isEmpty()) {
+    // The planned quantity of stock location lines is incremented by each call, so each stock
+    // move must be processed once.
+    List<StockMove> stockMoveList;
+    Query<StockMove> query =
+        buildQueryFetchStockMoveFromGroup(stockMoveGroup, " AND self.id > :lastId").order("id");
+    long lastId = 0L;
+    while (!(stockMoveList = query.bind("lastId", lastId).fetch(FETCH_LIMIT)).isEmpty()) {
 
-      for (StockMoveLine stockMoveLine : stockMoveLineList) {
+      for (StockMove stockMove : stockMoveList) {
+        lastId = stockMove.getId();
         stockMoveLineService.updateLocations(
             StockMoveRepository.STATUS_DRAFT,
             StockMoveRepository.STATUS_PLANNED,
-            stockMoveLine.getStockMove().getPlannedStockMoveLineList(),
-            stockMoveLine.getStockMove().getEstimatedDate(),
+            stockMove.getPlannedStockMoveLineList(),
+            stockMove.getEstimatedDate(),
             false,
             true);
       }
 
-      offSet += FETCH_LIMIT;
       JPA.clear();
     }
   }
@@ -184,9 +189,10 @@ public class BatchRecomputeStockLocationLines extends AbstractBatch {
       offSet += FETCH_LIMIT;
     }
 
+    // Planned quantities have been reset, so the realized moves must not be unplanned.
     for (Entry<TrackProduct, StockMoveLineOrigin> entry : stockMoveLinesMap.entrySet()) {
       stockMoveLineService.updateLocations(
-          StockMoveRepository.STATUS_PLANNED,
+          StockMoveRepository.STATUS_DRAFT,
           StockMoveRepository.STATUS_REALIZED,
           Collections.singletonList(entry.getValue().getStockMoveLine()),
           null,
@@ -211,6 +217,11 @@ public class BatchRecomputeStockLocationLines extends AbstractBatch {
   }
 
   protected Query<StockMove> buildQueryFetchStockMoveFromGroup(StockMoveGroup stockMoveGroup) {
+    return buildQueryFetchStockMoveFromGroup(stockMoveGroup, "");
+  }
+
+  protected Query<StockMove> buildQueryFetchStockMoveFromGroup(
+      StockMoveGroup stockMoveGroup, String additionalFilter) {
 
     StringBuilder query =
         new StringBuilder(
@@ -223,6 +234,7 @@ public class BatchRecomputeStockLocationLines extends AbstractBatch {
     } else {
       query.append(" AND self.realDate = :realDate");
     }
+    query.append(additionalFilter);
 
     return stockMoveRepository
         .all()
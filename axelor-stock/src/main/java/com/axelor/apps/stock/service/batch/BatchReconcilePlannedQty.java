@@ -0,0 +1,100 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.stock.service.batch;
+
+import com.axelor.apps.base.db.repo.BatchRepository;
+import com.axelor.apps.base.db.repo.ExceptionOriginRepository;
+import com.axelor.apps.base.exceptions.BaseExceptionMessage;
+import com.axelor.apps.base.service.administration.AbstractBatch;
+import com.axelor.apps.base.service.exception.TraceBackService;
+import com.axelor.apps.stock.db.StockLocationLine;
+import com.axelor.apps.stock.db.repo.StockLocationLineRepository;
+import com.axelor.apps.stock.exception.StockExceptionMessage;
+import com.axelor.apps.stock.service.StockLocationLineService;
+import com.axelor.db.JPA;
+import com.axelor.db.Query;
+import com.axelor.i18n.I18n;
+import com.google.inject.Inject;
+import java.util.List;
+
+/**
+ * Compare the planned quantity of every stock location line, which is maintained incrementally,
+ * with the planned stock move lines and fix the lines that drifted.
+ */
+public class BatchReconcilePlannedQty extends AbstractBatch {
+
+  protected StockLocationLineRepository stockLocationLineRepository;
+  protected StockLocationLineService stockLocationLineService;
+
+  protected int correctedCount;
+
+  @Inject
+  public BatchReconcilePlannedQty(
+      StockLocationLineRepository stockLocationLineRepository,
+      StockLocationLineService stockLocationLineService) {
+    this.stockLocationLineRepository = stockLocationLineRepository;
+    this.stockLocationLineService = stockLocationLineService;
+  }
+
+  @Override
+  protected void process() {
+    Query<StockLocationLine> query =
+        stockLocationLineRepository.all().filter("self.id > :lastId").order("id");
+    List<StockLocationLine> stockLocationLineList;
+    long lastId = 0L;
+
+    while (!(stockLocationLineList = query.bind("lastId", lastId).fetch(getFetchLimit()))
+        .isEmpty()) {
+
+      for (StockLocationLine stockLocationLine : stockLocationLineList) {
+        lastId = stockLocationLine.getId();
+        try {
+          if (stockLocationLineService.reconcilePlannedQty(stockLocationLine)) {
+            correctedCount++;
+          }
+          incrementDone();
+        } catch (Exception e) {
+          incrementAnomaly();
+          TraceBackService.trace(e, ExceptionOriginRepository.RECONCILE_PLANNED_QTY, batch.getId());
+        }
+      }
+      JPA.clear();
+    }
+  }
+
+  @Override
+  protected void stop() {
+    String comment = I18n.get(StockExceptionMessage.BATCH_RECONCILE_PLANNED_QTY_REPORT) + "\n";
+    comment +=
+        String.format(
+            "\t" + I18n.get(StockExceptionMessage.BATCH_RECONCILE_PLANNED_QTY_DONE) + "\n",
+            batch.getDone(),
+            correctedCount);
+    comment +=
+        String.format("\t" + I18n.get(BaseExceptionMessage.BASE_BATCH_3), batch.getAnomaly());
+
+    super.stop();
+    addComment(comment);
+  }
+
+  @Override
+  protected void setBatchTypeSelect() {
+    this.batch.setBatchTypeSelect(BatchRepository.BATCH_TYPE_STOCK_BATCH);
+  }
+}
@@ -46,6 +46,12 @@ public class StockBatchService extends AbstractBatchService {
       case StockBatchRepository.ACTION_RECOMPUTE_STOCK_LOCATION_LINE:
         batch = recomputeStockLocationLines(stockBatch);
         break;
+      case StockBatchRepository.ACTION_RECONCILE_PLANNED_QTY:
+        batch = reconcilePlannedQty(stockBatch);
+        break;
+      case StockBatchRepository.ACTION_REBUILD_STOCK_LOCATION_CLOSURE:
+        batch = rebuildStockLocationClosure(stockBatch);
+        break;
       default:
         throw new AxelorException(
             TraceBackRepository.CATEGORY_INCONSISTENCY,
@@ -60,4 +66,14 @@ public class StockBatchService extends AbstractBatchService {
 
     return Beans.get(BatchRecomputeStockLocationLines.class).run(stockBatch);
   }
+
+  protected Batch reconcilePlannedQty(StockBatch stockBatch) {
+
+    return Beans.get(BatchReconcilePlannedQty.class).run(stockBatch);
+  }
+
+  protected Batch rebuildStockLocationClosure(StockBatch stockBatch) {
+
+    return Beans.get(BatchRebuildStockLocationClosure.class).run(stockBatch);
+  }
 }
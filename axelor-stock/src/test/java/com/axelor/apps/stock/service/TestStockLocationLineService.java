@@ -0,0 +1,127 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.stock.service;
+
+import com.axelor.apps.base.AxelorException;
+import com.axelor.apps.stock.db.StockLocationLine;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class TestStockLocationLineService {
+
+  private static StockLocationLineService stockLocationLineService;
+
+  @BeforeAll
+  static void prepare() {
+    stockLocationLineService =
+        new StockLocationLineServiceImpl(null, null, null, null, null, null, null);
+  }
+
+  @Test
+  void testUpdateLocationPlanIncrement() throws AxelorException {
+    StockLocationLine stockLocationLine = createStockLocationLine("10", "12", "2", true);
+    updateLocation(stockLocationLine, "5", false, true, true);
+    assertQuantities(stockLocationLine, "10", "17", "7");
+  }
+
+  @Test
+  void testUpdateLocationPlanDecrement() throws AxelorException {
+    StockLocationLine stockLocationLine = createStockLocationLine("10", "12", "2", true);
+    updateLocation(stockLocationLine, "5", false, true, false);
+    assertQuantities(stockLocationLine, "10", "7", "-3");
+  }
+
+  @Test
+  void testUpdateLocationRealizeIncrement() throws AxelorException {
+    StockLocationLine stockLocationLine = createStockLocationLine("10", "12", "2", true);
+    updateLocation(stockLocationLine, "5", true, true, true);
+    assertQuantities(stockLocationLine, "15", "17", "2");
+  }
+
+  @Test
+  void testUpdateLocationRealizeDecrement() throws AxelorException {
+    StockLocationLine stockLocationLine = createStockLocationLine("10", "12", "2", true);
+    updateLocation(stockLocationLine, "5", true, true, false);
+    assertQuantities(stockLocationLine, "5", "7", "2");
+  }
+
+  @Test
+  void testUpdateLocationCurrentOnly() throws AxelorException {
+    StockLocationLine stockLocationLine = createStockLocationLine("10", "12", "2", true);
+    updateLocation(stockLocationLine, "5", true, false, true);
+    assertQuantities(stockLocationLine, "15", "12", "2");
+  }
+
+  @Test
+  void testUpdateLocationPlanNotInitialized() throws AxelorException {
+    StockLocationLine stockLocationLine = createStockLocationLine("10", "15", "0", false);
+    updateLocation(stockLocationLine, "3", false, true, false);
+    assertQuantities(stockLocationLine, "10", "12", "2");
+    Assertions.assertTrue(stockLocationLine.getIsPlannedQtyInitialized());
+  }
+
+  @Test
+  void testUpdateLocationRealizeNotInitialized() throws AxelorException {
+    StockLocationLine stockLocationLine = createStockLocationLine("10", "15", "0", false);
+    updateLocation(stockLocationLine, "4", true, true, true);
+    assertQuantities(stockLocationLine, "14", "19", "5");
+    Assertions.assertTrue(stockLocationLine.getIsPlannedQtyInitialized());
+  }
+
+  protected void updateLocation(
+      StockLocationLine stockLocationLine,
+      String qty,
+      boolean current,
+      boolean future,
+      boolean isIncrement)
+      throws AxelorException {
+    stockLocationLineService.updateLocation(
+        stockLocationLine,
+        null,
+        null,
+        new BigDecimal(qty),
+        current,
+        future,
+        isIncrement,
+        LocalDate.of(2024, 1, 1));
+  }
+
+  protected StockLocationLine createStockLocationLine(
+      String currentQty, String futureQty, String plannedQty, boolean isPlannedQtyInitialized) {
+    StockLocationLine stockLocationLine = new StockLocationLine();
+    stockLocationLine.setCurrentQty(new BigDecimal(currentQty));
+    stockLocationLine.setFutureQty(new BigDecimal(futureQty));
+    stockLocationLine.setPlannedQty(new BigDecimal(plannedQty));
+    stockLocationLine.setIsPlannedQtyInitialized(isPlannedQtyInitialized);
+    return stockLocationLine;
+  }
+
+  protected void assertQuantities(
+      StockLocationLine stockLocationLine, String currentQty, String futureQty, String plannedQty) {
+    Assertions.assertEquals(
+        0, new BigDecimal(currentQty).compareTo(stockLocationLine.getCurrentQty()));
+    Assertions.assertEquals(
+        0, new BigDecimal(futureQty).compareTo(stockLocationLine.getFutureQty()));
+    Assertions.assertEquals(
+        0, new BigDecimal(plannedQty).compareTo(stockLocationLine.getPlannedQty()));
+  }
+}
@@ -44,6 +44,16 @@ public interface ReservedQtyService {
    */
   void updateReservedQuantity(StockMove stockMove, int status) throws AxelorException;
 
+  /**
+   * Lock, in ascending id order, the stock location lines impacted by the given stock move and
+   * reload them. Must be called in a transaction before any of these lines is read, so concurrent
+   * moves on the same locations and products wait for each other instead of deadlocking or working
+   * on stale quantities.
+   *
+   * @param stockMove
+   */
+  void lockStockLocationLines(StockMove stockMove);
+
   /**
    * For lines with duplicate product, fill all the reserved qty in one line and empty the others.
    *
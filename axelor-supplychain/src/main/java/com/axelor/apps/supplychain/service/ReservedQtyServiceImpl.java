@@ -40,16 +40,23 @@ import com.axelor.apps.supplychain.db.SupplyChainConfig;
 import com.axelor.apps.supplychain.exception.SupplychainExceptionMessage;
 import com.axelor.apps.supplychain.service.app.AppSupplychainService;
 import com.axelor.apps.supplychain.service.config.SupplyChainConfigService;
+import com.axelor.db.JPA;
 import com.axelor.i18n.I18n;
 import com.axelor.inject.Beans;
 import com.google.inject.Inject;
 import com.google.inject.persist.Transactional;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.TypedQuery;
 
 /** This is the main implementation for {@link ReservedQtyService}. */
 public class ReservedQtyServiceImpl implements ReservedQtyService {
@@ -115,6 +122,69 @@ public class ReservedQtyServiceImpl implements ReservedQtyService {
     }
   }
 
+  @Override
+  public void lockStockLocationLines(StockMove stockMove) {
+    List<StockLocationLine> stockLocationLineList = fetchStockLocationLinesToLock(stockMove);
+    stockLocationLineList.sort(Comparator.comparing(StockLocationLine::getId));
+    for (StockLocationLine stockLocationLine : stockLocationLineList) {
+      lockStockLocationLine(stockLocationLine);
+    }
+  }
+
+  /**
+   * Fetch the stock location lines of the locations and stock managed products of the given stock
+   * move. Nothing is returned outside of a transaction as the locks would be released at once.
+   *
+   * @param stockMove a stock move
+   * @return the stock location lines to lock, in no particular order
+   */
+  protected List<StockLocationLine> fetchStockLocationLinesToLock(StockMove stockMove) {
+    EntityManager em = JPA.em();
+    if (stockMove.getStockMoveLineList() == null || !em.getTransaction().isActive()) {
+      return new ArrayList<>();
+    }
+    Set<Long> stockLocationIdSet = new HashSet<>();
+    Set<Long> productIdSet = new HashSet<>();
+    for (StockMoveLine stockMoveLine : stockMove.getStockMoveLineList()) {
+      Product product = stockMoveLine.getProduct();
+      if (product == null || !product.getStockManaged()) {
+        continue;
+      }
+      productIdSet.add(product.getId());
+      Optional.ofNullable(stockMoveLine.getFromStockLocation())
+          .map(StockLocation::getId)
+          .ifPresent(stockLocationIdSet::add);
+      Optional.ofNullable(stockMoveLine.getToStockLocation())
+          .map(StockLocation::getId)
+          .ifPresent(stockLocationIdSet::add);
+    }
+    if (stockLocationIdSet.isEmpty() || productIdSet.isEmpty()) {
+      return new ArrayList<>();
+    }
+    return em.createQuery(
+            "SELECT self FROM StockLocationLine self "
+                + "WHERE self.stockLocation.id IN :stockLocationIds "
+                + "AND self.product.id IN :productIds",
+            StockLocationLine.class)
+        .setParameter("stockLocationIds", stockLocationIdSet)
+        .setParameter("productIds", productIdSet)
+        .getResultList();
+  }
+
+  /**
+   * Lock the given stock location line and reload its state, so quantities updated by a concurrent
+   * transaction are not overwritten. Lines already locked by the current transaction are left
+   * untouched, as they may hold changes made since.
+   *
+   * @param stockLocationLine a managed stock location line
+   */
+  protected void lockStockLocationLine(StockLocationLine stockLocationLine) {
+    EntityManager em = JPA.em();
+    if (em.getLockMode(stockLocationLine) != LockModeType.PESSIMISTIC_WRITE) {
+      em.refresh(stockLocationLine, LockModeType.PESSIMISTIC_WRITE);
+    }
+  }
+
   /**
    * On planning, we want the requested quantity to be equal or lower to the quantity of the line.
    * So, if the requested quantity is greater than the quantity, we change it to be equal.
@@ -323,8 +393,7 @@ public class ReservedQtyServiceImpl implements ReservedQtyService {
       }
     }
 
-    updateReservedQty(stockLocationLine);
-    updateRequestedReservedQty(stockLocationLine);
+    updateReservedAndRequestedReservedQty(stockLocationLine);
     checkReservedQtyStocks(stockLocationLine, stockMoveLine, toStatus);
   }
 
@@ -893,82 +962,99 @@ public class ReservedQtyServiceImpl implements ReservedQtyService {
     if (stockLocation == null) {
       return;
     }
-
-    // compute from stock move lines
-    List<StockMoveLine> stockMoveLineList =
-        stockMoveLineRepository
-            .all()
-            .filter(
-                "self.product.id = :productId "
-                    + "AND self.fromStockLocation.id = :stockLocationId "
-                    + "AND self.stockMove.statusSelect = :planned")
-            .bind("productId", stockLocationLine.getProduct().getId())
-            .bind("stockLocationId", stockLocation.getId())
-            .bind("planned", StockMoveRepository.STATUS_PLANNED)
-            .fetch();
-    BigDecimal requestedReservedQty = BigDecimal.ZERO;
-    for (StockMoveLine stockMoveLine : stockMoveLineList) {
-      requestedReservedQty =
-          requestedReservedQty.add(
-              convertUnitWithProduct(
-                  stockMoveLine.getUnit(),
-                  stockLocationLine.getUnit(),
-                  stockMoveLine.getRequestedReservedQty(),
-                  stockLocationLine.getProduct()));
-    }
-    stockLocationLine.setRequestedReservedQty(requestedReservedQty);
+    List<Object[]> qtyList = fetchPlannedQtyList(stockLocationLine);
+    stockLocationLine.setRequestedReservedQty(
+        convertAndSumQty(qtyList, 2, stockLocationLine.getUnit(), stockLocationLine.getProduct()));
   }
 
   @Override
   public void updateReservedQty(SaleOrderLine saleOrderLine) throws AxelorException {
-    // compute from stock move lines
-    List<StockMoveLine> stockMoveLineList =
-        stockMoveLineRepository
-            .all()
-            .filter(
-                "self.saleOrderLine.id = :saleOrderLineId "
-                    + "AND self.stockMove.statusSelect = :planned")
-            .bind("saleOrderLineId", saleOrderLine.getId())
-            .bind("planned", StockMoveRepository.STATUS_PLANNED)
-            .fetch();
-    BigDecimal reservedQty = BigDecimal.ZERO;
-    for (StockMoveLine stockMoveLine : stockMoveLineList) {
-      reservedQty =
-          reservedQty.add(
-              convertUnitWithProduct(
-                  stockMoveLine.getUnit(),
-                  saleOrderLine.getUnit(),
-                  stockMoveLine.getReservedQty(),
-                  saleOrderLine.getProduct()));
-    }
-    saleOrderLine.setReservedQty(reservedQty);
+    TypedQuery<Object[]> query =
+        createPlannedQtyQuery("self.saleOrderLine.id = :saleOrderLineId")
+            .setParameter("saleOrderLineId", saleOrderLine.getId());
+    saleOrderLine.setReservedQty(
+        convertAndSumQty(
+            query.getResultList(), 1, saleOrderLine.getUnit(), saleOrderLine.getProduct()));
   }
 
   @Override
   public void updateReservedQty(StockLocationLine stockLocationLine) throws AxelorException {
-    // compute from stock move lines
-    List<StockMoveLine> stockMoveLineList =
-        stockMoveLineRepository
-            .all()
-            .filter(
-                "self.product.id = :productId "
-                    + "AND self.fromStockLocation.id = :stockLocationId "
-                    + "AND self.stockMove.statusSelect = :planned")
-            .bind("productId", stockLocationLine.getProduct().getId())
-            .bind("stockLocationId", stockLocationLine.getStockLocation().getId())
-            .bind("planned", StockMoveRepository.STATUS_PLANNED)
-            .fetch();
-    BigDecimal reservedQty = BigDecimal.ZERO;
-    for (StockMoveLine stockMoveLine : stockMoveLineList) {
-      reservedQty =
-          reservedQty.add(
-              convertUnitWithProduct(
-                  stockMoveLine.getUnit(),
-                  stockLocationLine.getUnit(),
-                  stockMoveLine.getReservedQty(),
-                  stockLocationLine.getProduct()));
+    List<Object[]> qtyList = fetchPlannedQtyList(stockLocationLine);
+    stockLocationLine.setReservedQty(
+        convertAndSumQty(qtyList, 1, stockLocationLine.getUnit(), stockLocationLine.getProduct()));
+  }
+
+  /**
+   * Update both reserved and requested reserved qty of the stock location line with a single
+   * query.
+   *
+   * @param stockLocationLine
+   * @throws AxelorException
+   */
+  protected void updateReservedAndRequestedReservedQty(StockLocationLine stockLocationLine)
+      throws AxelorException {
+    if (stockLocationLine.getStockLocation() == null) {
+      return;
+    }
+    List<Object[]> qtyList = fetchPlannedQtyList(stockLocationLine);
+    Unit unit = stockLocationLine.getUnit();
+    Product product = stockLocationLine.getProduct();
+    stockLocationLine.setReservedQty(convertAndSumQty(qtyList, 1, unit, product));
+    stockLocationLine.setRequestedReservedQty(convertAndSumQty(qtyList, 2, unit, product));
+  }
+
+  protected List<Object[]> fetchPlannedQtyList(StockLocationLine stockLocationLine) {
+    return createPlannedQtyQuery(
+            "self.product.id = :productId AND self.fromStockLocation.id = :stockLocationId")
+        .setParameter("productId", stockLocationLine.getProduct().getId())
+        .setParameter("stockLocationId", stockLocationLine.getStockLocation().getId())
+        .getResultList();
+  }
+
+  /**
+   * Create a query selecting the unit, reserved qty and requested reserved qty of the planned stock
+   * move lines matching the filter. Only these columns are read, without loading the stock move
+   * lines, each row is [unit id, reserved qty, requested reserved qty].
+   *
+   * @param filter additional JPQL condition on the stock move line
+   * @return the query, with the planned status already bound
+   */
+  protected TypedQuery<Object[]> createPlannedQtyQuery(String filter) {
+    return JPA.em()
+        .createQuery(
+            "SELECT unit.id, self.reservedQty, self.requestedReservedQty "
+                + "FROM StockMoveLine self "
+                + "LEFT JOIN self.unit unit "
+                + "WHERE self.stockMove.statusSelect = :planned AND "
+                + filter,
+            Object[].class)
+        .setParameter("planned", StockMoveRepository.STATUS_PLANNED);
+  }
+
+  /**
+   * Convert each row returned by {@link #createPlannedQtyQuery(String)} to the target unit, then
+   * add them up. Lines are converted one by one so the result is rounded the same way as when the
+   * stock move lines were loaded.
+   *
+   * @param qtyList the rows returned by the query
+   * @param index index of the qty to use in each row
+   * @param unit the target unit
+   * @param product the product used for the conversion
+   * @return the total quantity in the target unit
+   * @throws AxelorException
+   */
+  protected BigDecimal convertAndSumQty(
+      List<Object[]> qtyList, int index, Unit unit, Product product) throws AxelorException {
+    BigDecimal total = BigDecimal.ZERO;
+    for (Object[] qtyRow : qtyList) {
+      BigDecimal qty = (BigDecimal) qtyRow[index];
+      if (qty == null || qty.signum() == 0) {
+        continue;
+      }
+      Unit stockMoveLineUnit = qtyRow[0] == null ? null : JPA.find(Unit.class, (Long) qtyRow[0]);
+      total = total.add(convertUnitWithProduct(stockMoveLineUnit, unit, qty, product));
     }
-    stockLocationLine.setReservedQty(reservedQty);
+    return total;
   }
 
   @Override
@@ -167,6 +167,7 @@ public class StockMoveServiceSupplychainImpl extends StockMoveServiceImpl
     }
 
     LOG.debug("Stock move realization: {} ", stockMove.getStockMoveSeq());
+    lockStockLocationLines(stockMove);
     String newStockSeq = super.realizeStockMove(stockMove, check);
     AppSupplychain appSupplychain = appSupplyChainService.getAppSupplychain();
 
@@ -279,6 +280,7 @@ public class StockMoveServiceSupplychainImpl extends StockMoveServiceImpl
           TraceBackRepository.CATEGORY_INCONSISTENCY,
           I18n.get(SupplychainExceptionMessage.STOCK_MOVE_CANCEL_WRONG_STATUS_ERROR));
     }
+    lockStockLocationLines(stockMove);
     if (stockMove.getStatusSelect() == StockMoveRepository.STATUS_REALIZED) {
       if (ObjectUtils.notEmpty(stockMove.getSaleOrderSet())) {
         updateSaleOrderOnCancel(stockMove);
@@ -297,10 +299,24 @@ public class StockMoveServiceSupplychainImpl extends StockMoveServiceImpl
   @Transactional(rollbackOn = {Exception.class})
   public void planStockMove(StockMove stockMove, boolean splitByTrackingNumber)
       throws AxelorException {
+    lockStockLocationLines(stockMove);
     super.planStockMove(stockMove, splitByTrackingNumber);
     updateReservedQuantity(stockMove);
   }
 
+  /**
+   * Lock the stock location lines whose reserved quantities will be updated by the given stock
+   * move. Called before the stock move is processed, so no stock location line is read unlocked.
+   *
+   * @param stockMove
+   */
+  protected void lockStockLocationLines(StockMove stockMove) {
+    if (appSupplyChainService.isApp("supplychain")
+        && appSupplyChainService.getAppSupplychain().getManageStockReservation()) {
+      reservedQtyService.lockStockLocationLines(stockMove);
+    }
+  }
+
   protected void updateReservedQuantity(StockMove stockMove) throws AxelorException {
     if (appSupplyChainService.isApp("supplychain")
         && appSupplyChainService.getAppSupplychain().getManageStockReservation()) {
@@ -19,7 +19,6 @@
 package com.axelor.apps.supplychain.service.batch;
 
 import com.axelor.apps.base.AxelorException;
-import com.axelor.apps.base.db.Product;
 import com.axelor.apps.base.service.exception.TraceBackService;
 import com.axelor.apps.stock.db.StockLocation;
 import com.axelor.apps.stock.db.StockLocationLine;
@@ -35,6 +34,7 @@ import com.axelor.db.JPA;
 import com.google.inject.Inject;
 import com.google.inject.persist.Transactional;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -50,6 +50,18 @@ public class BatchCheckStockComplianceWithStockRules extends BatchStrategy {
   protected final StockLocationService stockLocationService;
   protected final StockRulesRepository stockRulesRepository;
 
+  /** Ids of the stock rules to check, by product id then stock location id. */
+  protected Map<Long, Map<Long, List<Long>>> stockRulesIdIndex;
+
+  /** Ids of each stock location and all its parents, by stock location id. */
+  protected Map<Long, Set<Long>> stockLocationAndParentIdsMap;
+
+  /**
+   * Result of {@link StockRulesService#useMinStockRules} by stock rules id. It only depends on the
+   * stock rules product and stock location, so it is evaluated once per stock rules.
+   */
+  protected Map<Long, Boolean> nonCompliantStockRulesMap;
+
   @Inject
   public BatchCheckStockComplianceWithStockRules(
       StockRulesService stockRulesService,
@@ -67,34 +79,34 @@ public class BatchCheckStockComplianceWithStockRules extends BatchStrategy {
   @Override
   protected void process() {
 
-    int offset = 0;
-    Map<StockRules, List<StockLocationLine>> stockLocationLinesByStockRules;
-    while ((stockLocationLinesByStockRules =
-            getNonCompliantStockLocationLinesByStockRules(getFetchLimit(), offset))
-        != null) {
-      if (ObjectUtils.isEmpty(stockLocationLinesByStockRules)) {
-        offset += getFetchLimit();
-        JPA.clear();
-        findBatch();
-        continue;
-      }
-      for (Map.Entry<StockRules, List<StockLocationLine>> stockLocationsByStockRule :
-          stockLocationLinesByStockRules.entrySet()) {
-        StockRules stockRule = stockLocationsByStockRule.getKey();
-        List<StockLocationLine> stockLocationLines = stockLocationsByStockRule.getValue();
-        for (StockLocationLine stockLocationLine : stockLocationLines) {
+    stockRulesIdIndex = getStockRulesIdIndex();
+    stockLocationAndParentIdsMap = new HashMap<>();
+    nonCompliantStockRulesMap = new HashMap<>();
+    if (stockRulesIdIndex.isEmpty()) {
+      return;
+    }
+
+    long lastId = 0L;
+    List<StockLocationLine> stockLocationLineList;
+    while (!(stockLocationLineList = getStockLocationLinesToCheck(getFetchLimit(), lastId))
+        .isEmpty()) {
+      for (StockLocationLine stockLocationLine : stockLocationLineList) {
+        lastId = stockLocationLine.getId();
+        for (Long stockRulesId : getToBeCheckedStockRulesIds(stockLocationLine)) {
           try {
-            processStockLocationLineNonCompliantToStockRules(stockRule, stockLocationLine);
-            incrementDone();
+            StockRules stockRules = stockRulesRepository.find(stockRulesId);
+            if (isNonCompliant(stockRules, stockLocationLine)) {
+              processStockLocationLineNonCompliantToStockRules(stockRules, stockLocationLine);
+              incrementDone();
+            }
           } catch (Exception e) {
             incrementAnomaly();
             TraceBackService.trace(e, null, batch.getId());
           }
         }
-        offset += getFetchLimit();
-        JPA.clear();
-        findBatch();
       }
+      JPA.clear();
+      findBatch();
     }
   }
 
@@ -105,102 +117,106 @@ public class BatchCheckStockComplianceWithStockRules extends BatchStrategy {
         stockRules, stockLocationLine);
   }
 
-  public Map<StockRules, List<StockLocationLine>> getNonCompliantStockLocationLinesByStockRules(
-      int fetchLimit, int offset) {
-
-    Map<StockRules, List<StockLocationLine>> stockLocationLineByStockRules = new HashMap<>();
+  protected boolean isNonCompliant(StockRules stockRules, StockLocationLine stockLocationLine) {
+    return nonCompliantStockRulesMap.computeIfAbsent(
+        stockRules.getId(),
+        id ->
+            stockRulesService.useMinStockRules(
+                stockLocationLine, stockRules, stockRules.getTypeSelect()));
+  }
 
-    Map<StockLocation, List<StockLocationLine>> stockLocationLinesByStockLocation =
-        getStockLocationLinesByStockLocationsToCheck(fetchLimit, offset);
+  /**
+   * Index the stock rules to check: the stock rules selected in the batch if any, else all the
+   * stock rules used for stock control.
+   */
+  protected Map<Long, Map<Long, List<Long>>> getStockRulesIdIndex() {
+    SupplychainBatch supplychainBatch = batch.getSupplychainBatch();
+    Set<StockRules> usedStockRules = supplychainBatch.getUsedStockRulesSet();
 
-    if (ObjectUtils.isEmpty(stockLocationLinesByStockLocation)) {
-      /* This null serves as an escape for the calling while loop, since this method can return an empty list for a call and a list with elements for the next call, this null serves an indicator that all the subsequent calls will have no elements */
-      return null;
+    List<Object[]> rowList;
+    if (ObjectUtils.notEmpty(usedStockRules)) {
+      rowList =
+          usedStockRules.stream()
+              .filter(sr -> sr.getProduct() != null && sr.getStockLocation() != null)
+              .map(
+                  sr ->
+                      new Object[] {
+                        sr.getId(), sr.getProduct().getId(), sr.getStockLocation().getId()
+                      })
+              .collect(Collectors.toList());
+    } else {
+      rowList =
+          JPA.em()
+              .createQuery(
+                  "SELECT self.id, self.product.id, self.stockLocation.id FROM StockRules self "
+                      + "WHERE self.useCaseSelect = :useCase",
+                  Object[].class)
+              .setParameter("useCase", StockRulesRepository.USE_CASE_STOCK_CONTROL)
+              .getResultList();
     }
 
-    for (Map.Entry<StockLocation, List<StockLocationLine>> mapEntry :
-        stockLocationLinesByStockLocation.entrySet()) {
-      StockLocation stockLocation = mapEntry.getKey();
-      List<StockLocationLine> stockLocationLines = mapEntry.getValue();
-
-      List<StockRules> stockRulesToBeChecked = getToBeCheckedStockRules(stockLocation);
-
-      if (ObjectUtils.isEmpty(stockRulesToBeChecked)) {
-        continue;
-      }
-
-      for (StockLocationLine stockLocationLine : stockLocationLines) {
-        List<StockRules> toBeCheckedStockRules =
-            stockRulesToBeChecked.stream()
-                .filter(
-                    stockRules -> stockLocationLine.getProduct().equals(stockRules.getProduct()))
-                .collect(Collectors.toList());
-        for (StockRules stockRules : toBeCheckedStockRules) {
-          if (stockRulesService.useMinStockRules(
-              stockLocationLine, stockRules, stockRules.getTypeSelect())) {
-            List<StockLocationLine> sll = stockLocationLineByStockRules.get(stockRules);
-            sll = sll != null ? sll : new ArrayList<>();
-            sll.add(stockLocationLine);
-            stockLocationLineByStockRules.put(stockRules, sll);
-          }
-        }
-      }
+    Map<Long, Map<Long, List<Long>>> index = new HashMap<>();
+    for (Object[] row : rowList) {
+      index
+          .computeIfAbsent((Long) row[1], productId -> new HashMap<>())
+          .computeIfAbsent((Long) row[2], stockLocationId -> new ArrayList<>())
+          .add((Long) row[0]);
     }
-    return stockLocationLineByStockRules;
+    return index;
   }
 
-  protected List<StockRules> getToBeCheckedStockRules(StockLocation stockLocation) {
-    Set<StockLocation> stockLocationAndItsParents =
-        stockLocationService.getListOfStockLocationAndAllItsParentsStockLocations(stockLocation);
-    SupplychainBatch supplychainBatch = batch.getSupplychainBatch();
-    Set<StockRules> usedStockRules = supplychainBatch.getUsedStockRulesSet();
-    return ObjectUtils.notEmpty(usedStockRules)
-        ? usedStockRules.stream()
-            .filter(sr -> stockLocationAndItsParents.contains(sr.getStockLocation()))
-            .collect(Collectors.toList())
-        : getStockRulesOfStockLocationsAndUseCaseStockControl(stockLocationAndItsParents);
+  protected List<Long> getToBeCheckedStockRulesIds(StockLocationLine stockLocationLine) {
+    Map<Long, List<Long>> stockRulesIdsByStockLocation =
+        stockRulesIdIndex.get(stockLocationLine.getProduct().getId());
+    if (stockRulesIdsByStockLocation == null) {
+      return Collections.emptyList();
+    }
+
+    List<Long> stockRulesIds = new ArrayList<>();
+    for (Long stockLocationId : getStockLocationAndParentIds(stockLocationLine)) {
+      stockRulesIds.addAll(
+          stockRulesIdsByStockLocation.getOrDefault(stockLocationId, Collections.emptyList()));
+    }
+    return stockRulesIds;
   }
 
-  protected List<StockRules> getStockRulesOfStockLocationsAndUseCaseStockControl(
-      Set<StockLocation> stockLocations) {
-    return stockRulesRepository
-        .all()
-        .filter(" self.stockLocation in :stockLocations AND self.useCaseSelect = :useCase")
-        .bind("stockLocations", stockLocations)
-        .bind("useCase", StockRulesRepository.USE_CASE_STOCK_CONTROL)
-        .fetch();
+  protected Set<Long> getStockLocationAndParentIds(StockLocationLine stockLocationLine) {
+    StockLocation stockLocation = stockLocationLine.getStockLocation();
+    return stockLocationAndParentIdsMap.computeIfAbsent(
+        stockLocation.getId(),
+        id ->
+            stockLocationService
+                .getLocationAndAllParentLocationsIdsOrderedFromTheClosestToTheFurthest(
+                    stockLocation));
   }
 
-  public Map<StockLocation, List<StockLocationLine>> getStockLocationLinesByStockLocationsToCheck(
-      int fetchLimit, int offset) {
+  protected List<StockLocationLine> getStockLocationLinesToCheck(int fetchLimit, long lastId) {
     SupplychainBatch supplychainBatch = batch.getSupplychainBatch();
     Set<StockRules> usedStockRules = supplychainBatch.getUsedStockRulesSet();
 
     StringBuilder query = new StringBuilder();
     Map<String, Object> parameterMap = new HashMap<>();
     query.append("SELECT sll FROM StockLocationLine sll WHERE sll.stockLocation is not null");
+    query.append(" AND sll.id > :lastId");
+    parameterMap.put("lastId", lastId);
 
     if (!ObjectUtils.isEmpty(usedStockRules)) {
       query.append(" AND sll.product.id IN :productIds");
-      parameterMap.put(
-          "productIds",
-          usedStockRules.stream()
-              .map(StockRules::getProduct)
-              .map(Product::getId)
-              .distinct()
-              .collect(Collectors.toList()));
+      parameterMap.put("productIds", new ArrayList<>(stockRulesIdIndex.keySet()));
+    } else {
+      query.append(
+          " AND EXISTS (SELECT sr.id FROM StockRules sr"
+              + " WHERE sr.product = sll.product AND sr.useCaseSelect = :useCase)");
+      parameterMap.put("useCase", StockRulesRepository.USE_CASE_STOCK_CONTROL);
     }
-    query.append(" ORDER BY sll.stockLocation.id,sll.id desc");
+    query.append(" ORDER BY sll.id");
 
     TypedQuery<StockLocationLine> typedQuery =
         JPA.em()
             .createQuery(query.toString(), StockLocationLine.class)
-            .setMaxResults(fetchLimit)
-            .setFirstResult(offset);
+            .setMaxResults(fetchLimit);
     parameterMap.forEach(typedQuery::setParameter);
 
-    /* Don't change the groupingBy lambda expression to a method reference, it will throw a ClassNotFoundException */
-    return typedQuery.getResultList().stream()
-        .collect(Collectors.groupingBy(sll -> sll.getStockLocation()));
+    return typedQuery.getResultList();
   }
 }
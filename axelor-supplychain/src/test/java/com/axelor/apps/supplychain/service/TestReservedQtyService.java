@@ -0,0 +1,81 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.supplychain.service;
+
+import com.axelor.apps.stock.db.StockLocationLine;
+import com.axelor.apps.stock.db.StockMove;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class TestReservedQtyService {
+
+  @Test
+  void testLockStockLocationLinesInAscendingIdOrder() {
+    List<Long> lockedIdList = new ArrayList<>();
+    ReservedQtyServiceImpl reservedQtyService =
+        new ReservedQtyServiceImpl(null, null, null, null, null, null) {
+          @Override
+          protected List<StockLocationLine> fetchStockLocationLinesToLock(StockMove stockMove) {
+            return Arrays.asList(18L, 3L, 42L, 7L).stream()
+                .map(TestReservedQtyService::createStockLocationLine)
+                .collect(Collectors.toList());
+          }
+
+          @Override
+          protected void lockStockLocationLine(StockLocationLine stockLocationLine) {
+            lockedIdList.add(stockLocationLine.getId());
+          }
+        };
+
+    reservedQtyService.lockStockLocationLines(new StockMove());
+
+    Assertions.assertEquals(Arrays.asList(3L, 7L, 18L, 42L), lockedIdList);
+  }
+
+  @Test
+  void testLockStockLocationLinesNothingToLock() {
+    List<Long> lockedIdList = new ArrayList<>();
+    ReservedQtyServiceImpl reservedQtyService =
+        new ReservedQtyServiceImpl(null, null, null, null, null, null) {
+          @Override
+          protected List<StockLocationLine> fetchStockLocationLinesToLock(StockMove stockMove) {
+            return new ArrayList<>();
+          }
+
+          @Override
+          protected void lockStockLocationLine(StockLocationLine stockLocationLine) {
+            lockedIdList.add(stockLocationLine.getId());
+          }
+        };
+
+    reservedQtyService.lockStockLocationLines(new StockMove());
+
+    Assertions.assertTrue(lockedIdList.isEmpty());
+  }
+
+  protected static StockLocationLine createStockLocationLine(Long id) {
+    StockLocationLine stockLocationLine = new StockLocationLine();
+    stockLocationLine.setId(id);
+    return stockLocationLine;
+  }
+}